@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: BatchMessageProcessor.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket;
+
+import io.github.smartboot.socket.transport.AioSession;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量消息处理器。
+ *
+ * <p>
+ * 会话每次读取后先解码出读缓冲区中全部完整的消息，再通过{@link #process(AioSession, List)}一次性交由业务处理，
+ * 便于业务合并数据库写入、批量输出响应后统一flush。
+ * </p>
+ * <p>
+ * 消息列表由会话复用，仅在回调期间有效，需要异步处理的消息应自行拷贝。
+ * 在回调中调用{@link AioSession#awaitRead()}将在本批消息处理完毕后暂停解码。
+ * 批量处理不经过{@link Plugin#preProcess(AioSession, Object)}。
+ * </p>
+ * <p>
+ * 本批消息全部解码完毕后才会交由业务处理，因此{@link Protocol}每次解码须返回独立的消息对象：
+ * 复用同一实例或返回可变对象的协议，批量模式下列表中的消息将指向最后一次解码的结果。
+ * 此类协议需在解码时拷贝消息，或改用普通的{@link MessageProcessor}。
+ * 待输出数据超过写高水位线时，本批消息随即截止，剩余数据待恢复可写后处理。
+ * </p>
+ *
+ * @param <T> 消息对象实体类型
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public interface BatchMessageProcessor<T> extends MessageProcessor<T> {
+
+    /**
+     * 处理本次读取解码出的全部消息
+     *
+     * @param session  通信会话
+     * @param messages 待处理的业务消息，至少包含一个消息
+     */
+    void process(AioSession session, List<T> messages);
+
+    @Override
+    default void process(AioSession session, T msg) {
+        process(session, Collections.singletonList(msg));
+    }
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: ScatteringProtocol.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket;
+
+import io.github.smartboot.socket.transport.AioSession;
+import io.github.smartboot.socket.transport.CompositeByteBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 支持大报文的协议。
+ * <p>
+ * 普通{@link Protocol}要求单个读缓冲区能够容纳一个完整消息，否则连接会因"readBuffer overflow"被关闭。
+ * 实现该接口后，当读缓冲区已满仍无法解析出完整消息时，会话会额外申请池化的缓冲区并通过分散读接收后续数据，
+ * 解码基于由这些缓冲区组成的{@link CompositeByteBuffer}进行。消息解析完毕后，多余的缓冲区随即归还内存池。
+ * </p>
+ * 如此一来，readBufferSize只需按常规消息设置，偶发的大报文无需为每个连接预留大块内存。
+ *
+ * @param <T> 消息对象实体类型
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public interface ScatteringProtocol<T> extends Protocol<T> {
+
+    /**
+     * 对缓冲区链中的数据进行解码，语义与{@link Protocol#decode(ByteBuffer, AioSession)}一致。
+     * <p>未读满一个完整消息时需通过{@link CompositeByteBuffer#mark()}/{@link CompositeByteBuffer#reset()}恢复读取位置并返回null</p>
+     * <p>与{@link BatchMessageProcessor}配合使用时，每次解码须返回独立的消息对象，不得复用实例，详见其说明</p>
+     *
+     * @param readBuffer 待处理的缓冲区链
+     * @param session    本次需要解码的session
+     * @return 本次解码成功后封装的业务消息对象, 返回null则表示解码未完成
+     */
+    T decode(CompositeByteBuffer readBuffer, AioSession session);
+
+    @Override
+    default T decode(ByteBuffer readBuffer, AioSession session) {
+        return decode(CompositeByteBuffer.wrap(readBuffer), session);
+    }
+
+    /**
+     * 单个消息允许的最大字节数，缓冲区链中的待解码数据超过该值时连接将被关闭
+     *
+     * @return 最大消息长度
+     */
+    default int maxFrameLength() {
+        return 16 * 1024 * 1024;
+    }
+}
@@ -73,6 +73,15 @@ public enum StateMachineEnum {
      */
     SESSION_CLOSED,
 
+    /**
+     * 会话可写状态发生变化。
+     *
+     * <p>启用写水位线后，待输出数据超过高水位线时变为不可写，会话随即暂停读取；
+     * 回落至低水位线以下时恢复可写并继续读取。启用非阻塞写模式后，写操作因超出字节上限被拒绝时同样变为不可写。
+     * 可通过{@link AioSession#isWritable()}获取当前状态。</p>
+     */
+    WRITABILITY_CHANGED,
+
     /**
      * 拒绝接受连接,仅Server端有效
      */
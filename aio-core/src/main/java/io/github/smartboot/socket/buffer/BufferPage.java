@@ -11,6 +11,7 @@ package io.github.smartboot.socket.buffer;
 
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
@@ -29,11 +30,15 @@ public final class BufferPage {
      */
     private boolean idle = true;
     /**
-     * 待回收的虚拟Buffer队列。
-     * 使用线程安全的并发队列存储已被使用完毕但尚未释放的VirtualBuffer对象，
-     * 这些对象可以被重新利用，从而减少内存分配和GC压力。
+     * 单个内存页最多区分的容量档位数，超出后新容量的缓冲区不再复用
      */
-    private final ConcurrentLinkedQueue<VirtualBuffer> cleanBuffers = new ConcurrentLinkedQueue<>();
+    private static final int MAX_SIZE_CLASSES = 32;
+    /**
+     * 按容量划分的待回收虚拟Buffer队列。
+     * 每种容量对应一个线程安全的并发队列，存储已被使用完毕但尚未释放的VirtualBuffer对象，
+     * 申请时仅复用容量一致的对象，避免不同容量交替申请时反复释放并重新分配内存。
+     */
+    private volatile SizeClass[] sizeClasses = new SizeClass[0];
 
     /**
      * 标识该内存页是否使用堆外内存（直接缓冲区）。
@@ -57,7 +62,7 @@ public final class BufferPage {
 
     /**
      * 申请指定大小的虚拟内存。
-     * 该方法首先尝试从回收队列中获取一个合适大小的VirtualBuffer对象进行复用，
+     * 该方法首先尝试从对应容量的回收队列中获取一个VirtualBuffer对象进行复用，
      * 如果没有找到合适的，则创建一个新的VirtualBuffer对象。
      *
      * @param size 申请的内存大小（字节数）
@@ -70,18 +75,13 @@ public final class BufferPage {
         }
         // 标记内存页为非空闲状态
         idle = false;
-        // 尝试从回收队列中获取一个VirtualBuffer
-        VirtualBuffer virtualBuffer = cleanBuffers.poll();
-        // 如果找到了一个容量正好等于请求大小的VirtualBuffer，则重置并返回它
-        if (virtualBuffer != null && virtualBuffer.buffer().capacity() == size) {
+        // 尝试从容量等于请求大小的回收队列中获取一个VirtualBuffer，找到则重置并返回它
+        SizeClass sizeClass = sizeClass(size);
+        VirtualBuffer virtualBuffer = sizeClass == null ? null : sizeClass.buffers.poll();
+        if (virtualBuffer != null) {
             virtualBuffer.reset();
             return virtualBuffer;
         }
-
-        // 如果找到了VirtualBuffer但大小不匹配，则释放它
-        if (virtualBuffer != null) {
-            clean0(virtualBuffer);
-        }
         // 创建一个新的VirtualBuffer，根据direct标志决定使用直接缓冲区还是堆缓冲区
         return new VirtualBuffer(this, direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size));
     }
@@ -94,7 +94,51 @@ public final class BufferPage {
      * @param cleanBuffer 待回收的虚拟内存对象
      */
     void clean(VirtualBuffer cleanBuffer) {
-        cleanBuffers.offer(cleanBuffer);
+        int size = cleanBuffer.buffer().capacity();
+        SizeClass sizeClass = sizeClass(size);
+        if (sizeClass == null && (sizeClass = addSizeClass(size)) == null) {
+            // 容量档位已满，直接释放
+            clean0(cleanBuffer);
+            return;
+        }
+        sizeClass.buffers.offer(cleanBuffer);
+    }
+
+    /**
+     * 查找指定容量的回收队列
+     *
+     * @param size 缓冲区容量
+     * @return 对应的容量档位，不存在时返回null
+     */
+    private SizeClass sizeClass(int size) {
+        for (SizeClass sizeClass : sizeClasses) {
+            if (sizeClass.size == size) {
+                return sizeClass;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 新增容量档位，采用写时复制以免申请内存时加锁
+     *
+     * @param size 缓冲区容量
+     * @return 对应的容量档位，档位数已达上限时返回null
+     */
+    private synchronized SizeClass addSizeClass(int size) {
+        SizeClass sizeClass = sizeClass(size);
+        if (sizeClass != null) {
+            return sizeClass;
+        }
+        SizeClass[] classes = sizeClasses;
+        if (classes.length == MAX_SIZE_CLASSES) {
+            return null;
+        }
+        sizeClass = new SizeClass(size);
+        SizeClass[] newClasses = Arrays.copyOf(classes, classes.length + 1);
+        newClasses[classes.length] = sizeClass;
+        sizeClasses = newClasses;
+        return sizeClass;
     }
 
     /**
@@ -112,8 +156,11 @@ public final class BufferPage {
             // 每次最多回收10个缓冲区，避免一次性回收过多导致性能问题
             int count = 0;
             VirtualBuffer cleanBuffer;
-            while (idle && count++ < 10 && (cleanBuffer = cleanBuffers.poll()) != null) {
-                clean0(cleanBuffer);
+            for (SizeClass sizeClass : sizeClasses) {
+                while (idle && count < 10 && (cleanBuffer = sizeClass.buffers.poll()) != null) {
+                    clean0(cleanBuffer);
+                    count++;
+                }
             }
         }
     }
@@ -149,8 +196,10 @@ public final class BufferPage {
         if (direct) {
             VirtualBuffer virtualBuffer;
             // 遍历并释放回收队列中的所有VirtualBuffer
-            while ((virtualBuffer = cleanBuffers.poll()) != null) {
-                clean0(virtualBuffer);
+            for (SizeClass sizeClass : sizeClasses) {
+                while ((virtualBuffer = sizeClass.buffers.poll()) != null) {
+                    clean0(virtualBuffer);
+                }
             }
         }
         // 对于堆内存缓冲区，不需要特殊处理，由GC自动回收
@@ -163,6 +212,29 @@ public final class BufferPage {
      */
     @Override
     public String toString() {
-        return "BufferPage{direct=" + direct + " ,availableBuffers=" + cleanBuffers + '}';
+        return "BufferPage{direct=" + direct + " ,availableBuffers=" + Arrays.toString(sizeClasses) + '}';
+    }
+
+    /**
+     * 同一容量的待回收虚拟Buffer队列
+     */
+    private static final class SizeClass {
+        /**
+         * 缓冲区容量
+         */
+        private final int size;
+        /**
+         * 待回收的虚拟Buffer队列
+         */
+        private final ConcurrentLinkedQueue<VirtualBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+        SizeClass(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public String toString() {
+            return size + "=" + buffers;
+        }
     }
 }
@@ -10,6 +10,7 @@
 package io.github.smartboot.socket.buffer;
 
 import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
 /**
  * 虚拟ByteBuffer缓冲区类，对Java NIO的ByteBuffer进行封装。
@@ -43,6 +44,11 @@ public final class VirtualBuffer {
      */
     private final ByteBuffer buffer;
 
+    /**
+     * 外部缓冲区的释放回调，仅对通过{@link #wrap(ByteBuffer, Consumer)}创建的VirtualBuffer有效
+     */
+    private final Consumer<ByteBuffer> releaser;
+
 
     /**
      * 构造一个虚拟缓冲区对象。
@@ -52,8 +58,13 @@ public final class VirtualBuffer {
      * @param buffer     底层的ByteBuffer实例，所有操作都会转发到这个缓冲区
      */
     VirtualBuffer(BufferPage bufferPage, ByteBuffer buffer) {
+        this(bufferPage, buffer, null);
+    }
+
+    private VirtualBuffer(BufferPage bufferPage, ByteBuffer buffer, Consumer<ByteBuffer> releaser) {
         this.bufferPage = bufferPage;
         this.buffer = buffer;
+        this.releaser = releaser;
     }
 
     /**
@@ -68,6 +79,18 @@ public final class VirtualBuffer {
         return new VirtualBuffer(null, buffer);
     }
 
+    /**
+     * 将外部的ByteBuffer包装成VirtualBuffer，并在{@link #clean()}时通过releaser交还所有权。
+     * 适用于MappedByteBuffer、共享的只读DirectByteBuffer等由调用方管理生命周期的缓冲区。
+     *
+     * @param buffer   要包装的ByteBuffer实例
+     * @param releaser 释放回调，VirtualBuffer被清理时执行，参数为buffer
+     * @return 包装后的VirtualBuffer实例
+     */
+    public static VirtualBuffer wrap(ByteBuffer buffer, Consumer<ByteBuffer> releaser) {
+        return new VirtualBuffer(null, buffer, releaser);
+    }
+
 
     /**
      * 获取底层的ByteBuffer实例。
@@ -98,7 +121,7 @@ public final class VirtualBuffer {
     /**
      * 释放虚拟缓冲区资源。
      * 如果该VirtualBuffer是由BufferPage创建的，则会将其归还给对应的BufferPage进行复用；
-     * 如果是通过wrap方法创建的，则不做特殊处理。
+     * 如果是通过wrap方法创建的，则执行释放回调(若有)。
      * 该方法使用信号量确保每个VirtualBuffer只能被清理一次，防止重复清理。
      *
      * @throws UnsupportedOperationException 如果尝试重复清理同一个VirtualBuffer
@@ -110,8 +133,11 @@ public final class VirtualBuffer {
             // 如果有关联的BufferPage，则将自己归还给BufferPage
             if (bufferPage != null) {
                 bufferPage.clean(this);
+            } else if (releaser != null) {
+                // 外部缓冲区交还调用方
+                releaser.accept(buffer);
             }
-            // 如果没有关联的BufferPage（通过wrap方法创建），则不做特殊处理
+            // 如果没有关联的BufferPage和释放回调（通过wrap方法创建），则不做特殊处理
         } else {
             // 如果获取信号量失败，表示已经被清理过，抛出异常
             throw new UnsupportedOperationException("buffer has cleaned");
@@ -10,18 +10,26 @@
 package io.github.smartboot.socket.enhance;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.channels.AsynchronousChannelGroup;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
-import java.nio.channels.spi.AsynchronousChannelProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 /**
@@ -34,7 +42,7 @@ import java.util.function.Consumer;
  * <p>
  * 该类是smart-socket框架的核心组件，采用了多线程模型来处理不同类型的IO事件：
  * - 读事件由多个Worker线程处理，实现负载均衡
- * - 写事件由单独的Worker线程处理，避免并发写入问题
+ * - 写事件由多个写Worker线程分片处理，每个连接固定归属其中一个，避免并发写入问题
  * - 通用事件（如accept、connect）由专门的Worker线程处理
  * <p>
  * 通过精细的线程分工和事件管理，实现了高性能、低延迟的网络IO处理能力。
@@ -64,16 +72,46 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
      * read工作组
      */
     private final Worker[] readWorkers;
-    final Worker writeWorker;
     /**
-     * 线程池分配索引
+     * write工作组，连接出现半包写时通过所属的写Worker监听OP_WRITE事件
      */
-    private final AtomicInteger readIndex = new AtomicInteger(0);
+    private final Worker[] writeWorkers;
+    /**
+     * 读Worker选择器
+     */
+    private final WorkerChooser readWorkerChooser;
+
+    /**
+     * 是否采集事件循环指标
+     */
+    private final boolean metricsEnabled;
+    /**
+     * 写线程分配索引
+     */
+    private final AtomicInteger writeIndex = new AtomicInteger(0);
 
     /**
      * group运行状态
      */
     volatile boolean running = true;
+    /**
+     * 通道组关闭时执行的回调
+     */
+    private final List<Runnable> shutdownHooks = new ArrayList<>();
+
+    /**
+     * 是否将Selector内部的selectedKeys替换为数组实现
+     */
+    private final boolean optimizeSelectedKeys;
+    /**
+     * selectedKeys优化降级提示仅输出一次
+     */
+    private boolean optimizeFallbackLogged;
+
+    /**
+     * 读Worker的select策略
+     */
+    private final SelectStrategy selectStrategy;
 
     /**
      * 忽略 SelectionKey.OP_ACCEPT，该情况不存在资源回收需求
@@ -94,17 +132,40 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
         if ((interestOps & SelectionKey.OP_WRITE) > 0) {
             EnhanceAsynchronousSocketChannel asynchronousSocketChannel = (EnhanceAsynchronousSocketChannel) selectionKey.attachment();
             removeOps(selectionKey, SelectionKey.OP_WRITE);
-            asynchronousSocketChannel.doWrite();
+            while (asynchronousSocketChannel.doWrite()) ;
         }
     };
 
-    private static final Consumer<SelectionKey> readConsumer = selectionKey -> ((EnhanceAsynchronousSocketChannel) selectionKey.attachment()).doRead(true, false);
+    private static final Consumer<SelectionKey> readConsumer = selectionKey -> {
+        Object attachment = selectionKey.attachment();
+        if (attachment instanceof EnhanceAsynchronousSocketChannel) {
+            ((EnhanceAsynchronousSocketChannel) attachment).doRead(true, false);
+        } else {
+            //SO_REUSEPORT模式下由读Worker监听OP_ACCEPT
+            ((EnhanceAsynchronousServerSocketChannel) attachment).doAccept();
+        }
+    };
+
+    private static final Consumer<SelectionKey> writeConsumer = selectionKey -> {
+        EnhanceAsynchronousSocketChannel asynchronousSocketChannel = (EnhanceAsynchronousSocketChannel) selectionKey.attachment();
+        //直接调用interestOps的效果比 removeOps(selectionKey, SelectionKey.OP_WRITE) 更好
+        try {
+            if (selectionKey.isValid()) {
+                selectionKey.interestOps(selectionKey.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+        } catch (Throwable e) {
+            System.err.println("remove write ops error");
+            e.printStackTrace();
+        } finally {
+            while (asynchronousSocketChannel.doWrite()) ;
+        }
+    };
 
     /**
      * 初始化异步通道组实例。
      * 该构造函数完成以下初始化工作：
      * 1. 创建读事件处理线程池，包含多个Worker线程，每个Worker都有独立的Selector
-     * 2. 创建写事件处理线程，使用单独的Worker处理写操作
+     * 2. 创建写事件处理线程组，数量由provider的writeThreadNum决定
      * 3. 创建通用事件处理线程，负责处理accept、connect等操作
      * 4. 所有Worker线程都采用Selector机制实现事件监听
      *
@@ -112,32 +173,26 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
      * @param readExecutorService 读事件处理线程池
      * @param threadNum           读事件处理线程数量
      */
-    protected EnhanceAsynchronousChannelGroup(AsynchronousChannelProvider provider, ExecutorService readExecutorService, int threadNum) throws IOException {
+    protected EnhanceAsynchronousChannelGroup(EnhanceAsynchronousChannelProvider provider, ExecutorService readExecutorService, int threadNum) throws IOException {
         super(provider);
+        this.optimizeSelectedKeys = provider.isOptimizeSelectedKeys();
+        this.selectStrategy = provider.getSelectStrategy();
+        this.readWorkerChooser = provider.getReadWorkerChooser();
+        this.metricsEnabled = provider.isMetricsEnabled();
         //init threadPool for read
         this.readExecutorService = readExecutorService;
         this.readWorkers = new Worker[threadNum];
         for (int i = 0; i < threadNum; i++) {
-            readWorkers[i] = new Worker(Selector.open(), readConsumer);
+            readWorkers[i] = new Worker("read-" + i, readConsumer, selectStrategy);
             this.readExecutorService.execute(readWorkers[i]);
         }
 
         //init threadPool for write and connect
-        writeWorker = new Worker(Selector.open(), selectionKey -> {
-            EnhanceAsynchronousSocketChannel asynchronousSocketChannel = (EnhanceAsynchronousSocketChannel) selectionKey.attachment();
-            //直接调用interestOps的效果比 removeOps(selectionKey, SelectionKey.OP_WRITE) 更好
-            try {
-                if (selectionKey.isValid()) {
-                    selectionKey.interestOps(selectionKey.interestOps() & ~SelectionKey.OP_WRITE);
-                }
-            } catch (Throwable e) {
-                System.err.println("remove write ops error");
-                e.printStackTrace();
-            } finally {
-                while (asynchronousSocketChannel.doWrite()) ;
-            }
-        });
-        commonWorker = new Worker(Selector.open(), selectionKey -> {
+        this.writeWorkers = new Worker[provider.getWriteThreadNum()];
+        for (int i = 0; i < writeWorkers.length; i++) {
+            writeWorkers[i] = new Worker("write-" + i, writeConsumer, SelectStrategy.BLOCKING);
+        }
+        commonWorker = new Worker("common", selectionKey -> {
             try {
                 if (selectionKey.isAcceptable()) {
                     EnhanceAsynchronousServerSocketChannel serverSocketChannel = (EnhanceAsynchronousServerSocketChannel) selectionKey.attachment();
@@ -157,10 +212,13 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
                 //通常只有同步read会存在该情况
                 System.err.println("cancel key error");
             }
-        });
+        }, SelectStrategy.BLOCKING);
 
-        commonExecutorService = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> new Thread(r, "smart-socket:common-" + EnhanceAsynchronousChannelGroup.this.hashCode()));
-        commonExecutorService.execute(writeWorker);
+        int commonThreadNum = writeWorkers.length + 1;
+        commonExecutorService = new ThreadPoolExecutor(commonThreadNum, commonThreadNum, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> new Thread(r, "smart-socket:common-" + EnhanceAsynchronousChannelGroup.this.hashCode()));
+        for (Worker writeWorker : writeWorkers) {
+            commonExecutorService.execute(writeWorker);
+        }
         commonExecutorService.execute(commonWorker);
     }
 
@@ -180,13 +238,53 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
 
     /**
      * 获取一个读事件处理Worker
-     * 采用轮询方式分配Worker，确保负载均衡
-     * 使用位运算优化取模运算，提高性能
+     * 由读Worker选择器决定分配结果，默认采用轮询方式
      *
      * @return 返回一个可用的读事件处理Worker
+     * @see WorkerChooser
      */
     public Worker getReadWorker() {
-        return readWorkers[(readIndex.getAndIncrement() & Integer.MAX_VALUE) % readWorkers.length];
+        if (readWorkers.length == 1) {
+            return readWorkers[0];
+        }
+        return readWorkers[readWorkerChooser.choose(readWorkers)];
+    }
+
+    /**
+     * 获取指定下标的读Worker，用于SO_REUSEPORT模式下为每个读Worker分配一个监听通道
+     */
+    Worker getReadWorker(int index) {
+        return readWorkers[index];
+    }
+
+    int getReadWorkerNum() {
+        return readWorkers.length;
+    }
+
+    /**
+     * 获取一个写事件处理Worker
+     * 同样采用轮询方式分配，连接在整个生命周期内固定使用该Worker监听OP_WRITE事件
+     *
+     * @return 返回一个可用的写事件处理Worker
+     */
+    public Worker getWriteWorker() {
+        if (writeWorkers.length == 1) {
+            return writeWorkers[0];
+        }
+        return writeWorkers[(writeIndex.getAndIncrement() & Integer.MAX_VALUE) % writeWorkers.length];
+    }
+
+    /**
+     * 获取所有Worker的运行统计，顺序依次为读Worker、写Worker、通用Worker
+     *
+     * @return Worker运行统计
+     */
+    List<WorkerStatistics> getWorkerStatistics() {
+        List<WorkerStatistics> statistics = new ArrayList<>(readWorkers.length + writeWorkers.length + 1);
+        Collections.addAll(statistics, readWorkers);
+        Collections.addAll(statistics, writeWorkers);
+        statistics.add(commonWorker);
+        return statistics;
     }
 
     @Override
@@ -211,12 +309,42 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
     public void shutdown() {
         running = false;
         commonWorker.interrupt();
-        writeWorker.interrupt();
+        for (Worker worker : writeWorkers) {
+            worker.interrupt();
+        }
         for (Worker worker : readWorkers) {
             worker.interrupt();
         }
         readExecutorService.shutdown();
         commonExecutorService.shutdown();
+        List<Runnable> hooks;
+        synchronized (shutdownHooks) {
+            hooks = new ArrayList<>(shutdownHooks);
+            shutdownHooks.clear();
+        }
+        for (Runnable hook : hooks) {
+            try {
+                hook.run();
+            } catch (Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * 注册通道组关闭时执行的回调，用于释放与通道组生命周期一致的资源，如业务线程池。
+     * 通道组已关闭时立即执行
+     *
+     * @param hook 关闭回调
+     */
+    public void addShutdownHook(Runnable hook) {
+        synchronized (shutdownHooks) {
+            if (running) {
+                shutdownHooks.add(hook);
+                return;
+            }
+        }
+        hook.run();
     }
 
     @Override
@@ -235,23 +363,44 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
      * 特点：
      * 1. 避免重复注册相同事件
      * 2. 处理多线程并发注册场景
-     * 3. 优化Selector的唤醒机制
+     * 3. 优化Selector的唤醒机制，多次跨线程提交合并为一次wakeup
      *
      * @param worker       当前的Worker实例
      * @param selectionKey 待操作的selectionKey
      * @param opt          需要添加的事件类型，如SelectionKey.OP_READ等
      */
     public static void interestOps(Worker worker, SelectionKey selectionKey, int opt) {
-        if ((selectionKey.interestOps() & opt) != 0) {
+        try {
+            if ((selectionKey.interestOps() & opt) != 0) {
+                return;
+            }
+            selectionKey.interestOps(selectionKey.interestOps() | opt);
+        } catch (CancelledKeyException e) {
+            //Selector重建期间持有的可能是已迁移的旧key，改为操作新Selector上的key
+            SelectionKey currentKey = selectionKey.channel().keyFor(worker.selector);
+            if (currentKey == null || currentKey == selectionKey) {
+                throw e;
+            }
+            interestOps(worker, currentKey, opt);
             return;
         }
-        selectionKey.interestOps(selectionKey.interestOps() | opt);
-        //Worker线程无需wakeup
-        if (worker.workerThread != Thread.currentThread()) {
-            selectionKey.selector().wakeup();
-        }
+        worker.wakeup();
     }
 
+    /**
+     * 连续出现过早返回的空select达到该次数时重建Selector
+     */
+    private static final int SELECTOR_AUTO_REBUILD_THRESHOLD = 512;
+
+    /**
+     * 负载结算周期
+     */
+    static final long LOAD_WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+    /**
+     * 负载衰减的半衰期
+     */
+    private static final double LOAD_HALF_LIFE = TimeUnit.SECONDS.toNanos(1);
+
     /**
      * Worker内部类，实现了Runnable接口，是异步通道组的核心工作单元。
      * 每个Worker都维护一个独立的Selector，负责特定类型事件(读/写/通用)的处理。
@@ -261,11 +410,32 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
      * 3. 维护事件注册队列
      * 4. 实现事件循环机制
      */
-    class Worker implements Runnable {
+    class Worker implements Runnable, WorkerStatistics {
+        /**
+         * Worker名称
+         */
+        private final String name;
+        /**
+         * 当前Worker绑定的Selector，用于IO事件的多路复用。
+         * 出现空轮询时会被重建替换，其他线程需通过该字段实时获取
+         */
+        volatile Selector selector;
         /**
-         * 当前Worker绑定的Selector，用于IO事件的多路复用
+         * 数组实现的已就绪key集合，未启用优化或反射失败时为null
          */
-        final Selector selector;
+        private SelectedSelectionKeySet selectedKeys;
+        /**
+         * JDK默认实现的已就绪key集合，随Selector重建而更新
+         */
+        private Set<SelectionKey> keySet;
+        /**
+         * 连续过早返回的空select次数
+         */
+        private int prematureSelectCount;
+        /**
+         * Selector重建次数
+         */
+        private volatile long rebuildCount;
         /**
          * 事件处理回调函数，针对不同类型的Worker（读/写/通用）有不同的实现
          */
@@ -279,26 +449,255 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
          * Worker线程引用，用于线程管理和中断操作
          */
         private Thread workerThread;
+        /**
+         * select策略
+         */
+        private final SelectStrategy selectStrategy;
+        /**
+         * 是否始终阻塞select，此时无需计算策略
+         */
+        private final boolean blocking;
+        /**
+         * selectNow忙等次数
+         */
+        private long spinCount;
+        /**
+         * park次数
+         */
+        private long parkCount;
+        /**
+         * 阻塞select次数
+         */
+        private long blockCount;
+        /**
+         * 是否已有待生效的wakeup。
+         * Worker即将阻塞select前置为false，select返回后置为true；
+         * 仅当CAS(false->true)成功的提交者才需要执行selector.wakeup()，从而将并发提交合并为一次系统调用。
+         */
+        private final AtomicBoolean wakeupPending = new AtomicBoolean(true);
+        /**
+         * 跨线程提交的唤醒请求次数
+         */
+        private final LongAdder wakeupRequestCount = new LongAdder();
+        /**
+         * 实际执行selector.wakeup()的次数
+         */
+        private final LongAdder wakeupCount = new LongAdder();
+        /**
+         * 定时任务队列，仅由Worker线程访问
+         */
+        private final PriorityQueue<WorkerScheduledTask> scheduledTasks = new PriorityQueue<>();
+        /**
+         * 定时任务入队序号
+         */
+        private long scheduledSequence;
+        /**
+         * 已取消但尚未移出队列的定时任务数，仅由Worker线程访问
+         */
+        private int cancelledTaskCount;
+        /**
+         * 通道读写超时检测，仅由Worker线程访问
+         */
+        final TimingWheel timingWheel = new TimingWheel();
+        /**
+         * 当前归属该Worker的连接数
+         */
+        final AtomicInteger connectionCount = new AtomicInteger();
+        /**
+         * 累计处理的IO事件数，仅由Worker线程更新
+         */
+        private long eventCount;
+        /**
+         * 上一次结算负载时的事件数
+         */
+        private long loadEventCount;
+        /**
+         * 衰减后的负载及其结算时间，结算周期为LOAD_WINDOW
+         */
+        private volatile double load;
+        private volatile long loadTimestamp = System.nanoTime();
+
+        /**
+         * 是否采集事件循环指标，关闭时以下字段均不更新
+         */
+        final boolean metrics = metricsEnabled;
+        /**
+         * 推测性直接读取的命中次数
+         */
+        final LongAdder directReadHitCount = new LongAdder();
+        /**
+         * 推测性直接读取的未命中次数
+         */
+        final LongAdder directReadMissCount = new LongAdder();
+        /**
+         * 事件循环次数
+         */
+        private long loopCount;
+        /**
+         * 累计阻塞/等待于select的时长
+         */
+        private long selectNanos;
+        /**
+         * 累计处理事件与任务的时长
+         */
+        private long processNanos;
+        /**
+         * 当前阶段(select或处理)的开始时间
+         */
+        private volatile long phaseStart = System.nanoTime();
+        /**
+         * 当前是否处于select阶段，用于在统计时计入尚未结束的阶段耗时
+         */
+        private volatile boolean selecting;
+        /**
+         * 任务队列中待执行的任务数
+         */
+        private final AtomicInteger taskQueueDepth = new AtomicInteger();
+        /**
+         * 以下最大值自上次重置以来统计
+         */
+        private int maxTaskQueueDepth;
+        private int maxKeysPerLoop;
+        private long maxCallbackNanos;
+        private long maxLoopNanos;
+        /**
+         * 重置最大值的请求，由Worker线程在下一轮循环时执行
+         */
+        private volatile boolean resetMaxRequested;
 
-        Worker(Selector selector, Consumer<SelectionKey> consumer) {
-            this.selector = selector;
+        Worker(String name, Consumer<SelectionKey> consumer, SelectStrategy selectStrategy) throws IOException {
+            this.name = name;
             this.consumer = consumer;
+            this.selectStrategy = selectStrategy;
+            this.blocking = selectStrategy == SelectStrategy.BLOCKING;
+            this.selector = openSelector();
+            this.keySet = selector.selectedKeys();
+        }
+
+        /**
+         * 打开Selector，若启用了selectedKeys优化则尝试通过反射替换其内部的已就绪key集合。
+         * 反射受限时（如JDK9+未开放sun.nio.ch模块）自动降级为JDK默认实现。
+         */
+        private Selector openSelector() throws IOException {
+            Selector selector = Selector.open();
+            this.selectedKeys = null;
+            if (!optimizeSelectedKeys) {
+                return selector;
+            }
+            try {
+                Class<?> selectorImplClass = Class.forName("sun.nio.ch.SelectorImpl", false, ClassLoader.getSystemClassLoader());
+                if (!selectorImplClass.isAssignableFrom(selector.getClass())) {
+                    return selector;
+                }
+                Field selectedKeysField = selectorImplClass.getDeclaredField("selectedKeys");
+                Field publicSelectedKeysField = selectorImplClass.getDeclaredField("publicSelectedKeys");
+                selectedKeysField.setAccessible(true);
+                publicSelectedKeysField.setAccessible(true);
+                SelectedSelectionKeySet keySet = new SelectedSelectionKeySet();
+                selectedKeysField.set(selector, keySet);
+                publicSelectedKeysField.set(selector, keySet);
+                this.selectedKeys = keySet;
+            } catch (Throwable e) {
+                if (!optimizeFallbackLogged) {
+                    optimizeFallbackLogged = true;
+                    System.err.println("optimize selectedKeys fail, fallback to default implementation. cause: " + e.getMessage());
+                }
+            }
+            return selector;
         }
 
         /**
          * 注册新的Selector事件
          * 该方法支持异步注册事件，通过以下机制实现：
          * 1. 将注册事件添加到队列
-         * 2. 唤醒Selector以处理新事件
+         * 2. 必要时唤醒Selector以处理新事件
          * 3. 确保线程安全的事件注册
          *
          * @param register Selector事件处理器
          */
         final void addRegister(Consumer<Selector> register) {
+            if (metrics) {
+                taskQueueDepth.incrementAndGet();
+            }
             consumers.offer(register);
-            selector.wakeup();
+            wakeup();
+        }
+
+        /**
+         * 唤醒阻塞中的Selector。
+         * Worker线程自身提交无需唤醒；其他线程仅在Worker进入阻塞select后的首次提交时执行wakeup，
+         * 在此之前的提交由Worker阻塞前的二次检查兜底。
+         */
+        final void wakeup() {
+            if (workerThread == Thread.currentThread()) {
+                return;
+            }
+            wakeupRequestCount.increment();
+            if (!wakeupPending.get() && wakeupPending.compareAndSet(false, true)) {
+                wakeupCount.increment();
+                selector.wakeup();
+            }
+        }
+
+
+        /**
+         * 在Worker线程中执行任务
+         *
+         * @param task 待执行的任务
+         */
+        final void execute(Runnable task) {
+            if (!running) {
+                throw new RejectedExecutionException("channel group is shutdown");
+            }
+            addRegister(selector -> {
+                try {
+                    task.run();
+                } catch (Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+            });
         }
 
+        /**
+         * 在Worker线程中延迟执行任务
+         *
+         * @param task  待执行的任务
+         * @param delay 延迟时长
+         * @param unit  时长单位
+         * @return 定时任务
+         */
+        final ScheduledTask schedule(Runnable task, long delay, TimeUnit unit) {
+            if (!running) {
+                throw new RejectedExecutionException("channel group is shutdown");
+            }
+            WorkerScheduledTask scheduledTask = new WorkerScheduledTask(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)), this::cancelScheduledTask);
+            addRegister(selector -> {
+                scheduledTask.sequence = scheduledSequence++;
+                scheduledTasks.offer(scheduledTask);
+            });
+            return scheduledTask;
+        }
+
+        /**
+         * 定时任务已取消。已取消的任务超过队列的一半时统一移出，避免长延时任务取消后堆积至到期
+         *
+         * @param scheduledTask 已取消的定时任务
+         */
+        private void cancelScheduledTask(WorkerScheduledTask scheduledTask) {
+            if (!running) {
+                return;
+            }
+            addRegister(selector -> {
+                if (++cancelledTaskCount > scheduledTasks.size() >> 1) {
+                    scheduledTasks.removeIf(WorkerScheduledTask::isCancelled);
+                    cancelledTaskCount = 0;
+                }
+            });
+        }
+
+        final boolean inEventLoop() {
+            return workerThread == Thread.currentThread();
+        }
 
         EnhanceAsynchronousChannelGroup group() {
             return EnhanceAsynchronousChannelGroup.this;
@@ -321,22 +720,63 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
         @Override
         public final void run() {
             workerThread = Thread.currentThread();
-            // 优先获取SelectionKey,若无关注事件触发则阻塞在selector.select(),减少select被调用次数
-            Set<SelectionKey> keySet = selector.selectedKeys();
+            int idleCount = 0;
             try {
                 while (running) {
                     // 处理待注册的事件
-                    Consumer<Selector> selectorConsumer;
-                    while ((selectorConsumer = consumers.poll()) != null) {
-                        selectorConsumer.accept(selector);
+                    boolean idle = true;
+                    if (metrics) {
+                        idle = runTasksWithMetrics();
+                        beforeSelect();
+                    } else {
+                        Consumer<Selector> selectorConsumer;
+                        while ((selectorConsumer = consumers.poll()) != null) {
+                            selectorConsumer.accept(selector);
+                            idle = false;
+                        }
+                    }
+                    if (!idle) {
+                        prematureSelectCount = 0;
+                    }
+                    if (blocking) {
+                        // 阻塞等待IO事件
+                        blockingSelect();
+                    } else {
+                        if (!idle) {
+                            idleCount = 0;
+                        }
+                        if (select(idleCount) > 0) {
+                            idleCount = 0;
+                        } else if (idleCount < Integer.MAX_VALUE) {
+                            idleCount++;
+                        }
+                    }
+                    if (metrics) {
+                        afterSelect(selectedKeys == null ? keySet.size() : selectedKeys.size);
                     }
-                    // 阻塞等待IO事件
-                    selector.select();
                     // 处理已就绪的IO事件
-                    for (SelectionKey key : keySet) {
-                        consumer.accept(key);
+                    if (selectedKeys == null) {
+                        Set<SelectionKey> keySet = this.keySet;
+                        if (!keySet.isEmpty()) {
+                            for (SelectionKey key : keySet) {
+                                handle(key);
+                            }
+                            eventCount += keySet.size();
+                            keySet.clear();
+                            updateLoad();
+                        }
+                    } else if (selectedKeys.size > 0) {
+                        processSelectedKeys();
+                        updateLoad();
+                    }
+                    // 执行已到期的定时任务
+                    if (!scheduledTasks.isEmpty()) {
+                        runScheduledTasks();
+                    }
+                    // 检测读写超时
+                    if (timingWheel.size() > 0) {
+                        timingWheel.expire(System.nanoTime());
                     }
-                    keySet.clear();
                 }
                 // 关闭前处理剩余的事件
                 selector.keys().stream().filter(SelectionKey::isValid).forEach(key -> {
@@ -359,5 +799,363 @@ class EnhanceAsynchronousChannelGroup extends AsynchronousChannelGroup {
                 }
             }
         }
+
+        /**
+         * 按照select策略等待IO事件
+         *
+         * @param idleCount 连续空转次数
+         * @return 就绪的key数量
+         */
+        private int select(int idleCount) throws IOException {
+            long strategy = selectStrategy.calculate(idleCount);
+            if (strategy == SelectStrategy.BLOCK) {
+                return blockingSelect();
+            } else if (strategy > 0) {
+                //park期间不响应wakeup，唤醒延迟以parkNanos为上限
+                parkCount++;
+                LockSupport.parkNanos(this, strategy);
+            } else {
+                spinCount++;
+            }
+            return selector.selectNow();
+        }
+
+        /**
+         * 阻塞select。
+         * 先复位wakeupPending再检查注册队列：复位前入队的任务在此被发现，复位后的提交会触发wakeup，
+         * 两者都不会导致Worker错过新任务而长时间阻塞。
+         * interestOps的变更在select开始时生效，无需额外检查。
+         */
+        private int blockingSelect() throws IOException {
+            wakeupPending.set(false);
+            try {
+                if (!consumers.isEmpty()) {
+                    return selector.selectNow();
+                }
+                long timeout = 0;
+                long start = 0;
+                WorkerScheduledTask scheduledTask = scheduledTasks.peek();
+                if (scheduledTask != null || timingWheel.size() > 0) {
+                    long deadline;
+                    if (scheduledTask == null) {
+                        deadline = timingWheel.nextTick();
+                    } else if (timingWheel.size() == 0) {
+                        deadline = scheduledTask.deadline;
+                    } else {
+                        long nextTick = timingWheel.nextTick();
+                        deadline = scheduledTask.deadline - nextTick < 0 ? scheduledTask.deadline : nextTick;
+                    }
+                    start = System.nanoTime();
+                    //向上取整至毫秒，避免定时任务或超时检测到期前反复空转
+                    timeout = TimeUnit.NANOSECONDS.toMillis(deadline - start + 999_999);
+                    if (timeout <= 0) {
+                        return selector.selectNow();
+                    }
+                }
+                blockCount++;
+                int selected = selector.select(timeout);
+                if (selected > 0 || wakeupPending.get()) {
+                    prematureSelectCount = 0;
+                } else if (Thread.interrupted()) {
+                    //线程中断会导致select立即返回，清除中断标志避免空转；停机时由running控制退出
+                    prematureSelectCount = 0;
+                } else if (timeout > 0 && System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(timeout)) {
+                    //select超时，属于正常返回
+                    prematureSelectCount = 0;
+                } else if (++prematureSelectCount >= SELECTOR_AUTO_REBUILD_THRESHOLD) {
+                    //无事件、未被唤醒、未超时却连续返回，判定为JDK epoll空轮询bug
+                    rebuildSelector();
+                }
+                return selected;
+            } finally {
+                wakeupPending.lazySet(true);
+            }
+        }
+
+        /**
+         * 重建Selector。
+         * 将原Selector上所有有效key连同interestOps、attachment迁移至新Selector，
+         * 并更新通道缓存的SelectionKey，之后关闭原Selector。
+         */
+        private void rebuildSelector() {
+            prematureSelectCount = 0;
+            Selector oldSelector = selector;
+            Selector newSelector;
+            try {
+                newSelector = openSelector();
+            } catch (IOException e) {
+                System.err.println("rebuild selector fail");
+                e.printStackTrace();
+                return;
+            }
+            int migrated = 0;
+            for (SelectionKey key : oldSelector.keys()) {
+                Object attachment = key.attachment();
+                try {
+                    if (!key.isValid() || key.channel().keyFor(newSelector) != null) {
+                        continue;
+                    }
+                    int interestOps = key.interestOps();
+                    key.cancel();
+                    SelectionKey newKey = key.channel().register(newSelector, interestOps, attachment);
+                    if (attachment instanceof EnhanceAsynchronousSocketChannel) {
+                        ((EnhanceAsynchronousSocketChannel) attachment).selectorRebuilt(key, newKey);
+                    } else if (attachment instanceof EnhanceAsynchronousServerSocketChannel) {
+                        ((EnhanceAsynchronousServerSocketChannel) attachment).selectorRebuilt(key, newKey);
+                    }
+                    migrated++;
+                } catch (Exception e) {
+                    System.err.println("migrate selectionKey fail");
+                    e.printStackTrace();
+                }
+            }
+            selector = newSelector;
+            keySet = newSelector.selectedKeys();
+            rebuildCount++;
+            try {
+                oldSelector.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            System.err.println("worker " + name + " rebuild selector to fix epoll spin bug, migrated " + migrated + " keys");
+        }
+
+        /**
+         * 分发就绪的IO事件，启用指标时记录回调耗时
+         */
+        private void handle(SelectionKey key) {
+            if (metrics) {
+                long start = System.nanoTime();
+                consumer.accept(key);
+                recordCallback(System.nanoTime() - start);
+            } else {
+                consumer.accept(key);
+            }
+        }
+
+        /**
+         * 执行任务队列中的任务，并记录队列深度与任务耗时
+         *
+         * @return 是否无任务可执行
+         */
+        private boolean runTasksWithMetrics() {
+            if (resetMaxRequested) {
+                resetMaxRequested = false;
+                maxTaskQueueDepth = 0;
+                maxKeysPerLoop = 0;
+                maxCallbackNanos = 0;
+                maxLoopNanos = 0;
+            }
+            int depth = taskQueueDepth.get();
+            if (depth > maxTaskQueueDepth) {
+                maxTaskQueueDepth = depth;
+            }
+            boolean idle = true;
+            Consumer<Selector> selectorConsumer;
+            while ((selectorConsumer = consumers.poll()) != null) {
+                taskQueueDepth.decrementAndGet();
+                long start = System.nanoTime();
+                selectorConsumer.accept(selector);
+                recordCallback(System.nanoTime() - start);
+                idle = false;
+            }
+            return idle;
+        }
+
+        private void recordCallback(long nanos) {
+            if (nanos > maxCallbackNanos) {
+                maxCallbackNanos = nanos;
+            }
+        }
+
+        /**
+         * 结算本轮处理阶段的耗时，并开始计时select
+         */
+        private void beforeSelect() {
+            long now = System.nanoTime();
+            long busy = now - phaseStart;
+            processNanos += busy;
+            if (busy > maxLoopNanos) {
+                maxLoopNanos = busy;
+            }
+            phaseStart = now;
+            selecting = true;
+        }
+
+        /**
+         * 结算select耗时，并开始计时下一轮处理阶段
+         *
+         * @param keys 本轮就绪的key数量
+         */
+        private void afterSelect(int keys) {
+            long now = System.nanoTime();
+            selectNanos += now - phaseStart;
+            phaseStart = now;
+            selecting = false;
+            loopCount++;
+            if (keys > maxKeysPerLoop) {
+                maxKeysPerLoop = keys;
+            }
+        }
+
+        /**
+         * 执行所有已到期的定时任务，尚未移出队列的已取消任务直接丢弃
+         */
+        private void runScheduledTasks() {
+            long now = System.nanoTime();
+            WorkerScheduledTask scheduledTask;
+            while ((scheduledTask = scheduledTasks.peek()) != null && scheduledTask.deadline - now <= 0) {
+                scheduledTasks.poll();
+                try {
+                    scheduledTask.run();
+                } catch (Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+            }
+        }
+
+        /**
+         * 每隔LOAD_WINDOW将期间处理的事件数计入衰减负载
+         */
+        private void updateLoad() {
+            long now = System.nanoTime();
+            long elapsed = now - loadTimestamp;
+            if (elapsed < LOAD_WINDOW) {
+                return;
+            }
+            load = decay(load, elapsed) + (eventCount - loadEventCount);
+            loadEventCount = eventCount;
+            loadTimestamp = now;
+        }
+
+        private double decay(double value, long elapsed) {
+            return value * Math.pow(0.5, elapsed / LOAD_HALF_LIFE);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public long spinCount() {
+            return spinCount;
+        }
+
+        @Override
+        public long parkCount() {
+            return parkCount;
+        }
+
+        @Override
+        public long blockCount() {
+            return blockCount;
+        }
+
+        @Override
+        public long wakeupRequestCount() {
+            return wakeupRequestCount.sum();
+        }
+
+        @Override
+        public long wakeupCount() {
+            return wakeupCount.sum();
+        }
+
+        @Override
+        public int connectionCount() {
+            return connectionCount.get();
+        }
+
+        @Override
+        public long eventCount() {
+            return eventCount;
+        }
+
+        @Override
+        public double recentLoad() {
+            return decay(load, System.nanoTime() - loadTimestamp);
+        }
+
+        @Override
+        public long rebuildCount() {
+            return rebuildCount;
+        }
+
+        @Override
+        public long directReadHitCount() {
+            return directReadHitCount.sum();
+        }
+
+        @Override
+        public long directReadMissCount() {
+            return directReadMissCount.sum();
+        }
+
+        @Override
+        public boolean metricsEnabled() {
+            return metrics;
+        }
+
+        @Override
+        public long loopCount() {
+            return loopCount;
+        }
+
+        @Override
+        public long selectNanos() {
+            return selecting ? selectNanos + System.nanoTime() - phaseStart : selectNanos;
+        }
+
+        @Override
+        public long processNanos() {
+            return metrics && !selecting ? processNanos + System.nanoTime() - phaseStart : processNanos;
+        }
+
+        @Override
+        public int taskQueueDepth() {
+            return taskQueueDepth.get();
+        }
+
+        @Override
+        public int maxTaskQueueDepth() {
+            return maxTaskQueueDepth;
+        }
+
+        @Override
+        public int maxKeysPerLoop() {
+            return maxKeysPerLoop;
+        }
+
+        @Override
+        public long maxCallbackNanos() {
+            return maxCallbackNanos;
+        }
+
+        @Override
+        public long maxLoopNanos() {
+            return maxLoopNanos;
+        }
+
+        @Override
+        public void resetMaxValues() {
+            resetMaxRequested = true;
+        }
+
+        /**
+         * 按下标遍历数组实现的已就绪key集合，全程无对象分配
+         */
+        private void processSelectedKeys() {
+            SelectedSelectionKeySet selectedKeys = this.selectedKeys;
+            SelectionKey[] keys = selectedKeys.keys;
+            int size = selectedKeys.size;
+            for (int i = 0; i < size; i++) {
+                SelectionKey key = keys[i];
+                keys[i] = null;
+                handle(key);
+            }
+            selectedKeys.size = 0;
+            eventCount += size;
+        }
     }
 }
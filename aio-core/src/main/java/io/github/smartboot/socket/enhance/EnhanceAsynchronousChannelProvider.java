@@ -16,6 +16,8 @@ import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
 import java.nio.channels.SocketChannel;
 import java.nio.channels.spi.AsynchronousChannelProvider;
+import java.security.InvalidParameterException;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -61,6 +63,142 @@ public final class EnhanceAsynchronousChannelProvider extends AsynchronousChanne
      */
     public static final int READABLE_SIGNAL = -3;
 
+    /**
+     * 写事件处理线程数
+     * 仅当连接出现半包写需要监听OP_WRITE事件时才会用到写线程，大流量推送场景下可适当调大
+     */
+    private int writeThreadNum = 1;
+
+    /**
+     * 是否启用selectedKeys优化
+     */
+    private boolean optimizeSelectedKeys = false;
+
+    /**
+     * 读Worker的select策略
+     */
+    private SelectStrategy selectStrategy = SelectStrategy.BLOCKING;
+
+    /**
+     * 读Worker选择器
+     */
+    private WorkerChooser readWorkerChooser = WorkerChooser.roundRobin();
+
+    /**
+     * 是否采集事件循环指标
+     */
+    private boolean metricsEnabled = false;
+
+    /**
+     * 设置写事件处理线程数，对之后创建的异步通道组生效
+     *
+     * @param writeThreadNum 写线程数，必须大于0
+     * @return 当前provider对象
+     */
+    public EnhanceAsynchronousChannelProvider setWriteThreadNum(int writeThreadNum) {
+        if (writeThreadNum <= 0) {
+            throw new InvalidParameterException("writeThreadNum must > 0");
+        }
+        this.writeThreadNum = writeThreadNum;
+        return this;
+    }
+
+    int getWriteThreadNum() {
+        return writeThreadNum;
+    }
+
+    /**
+     * 启用selectedKeys优化。
+     * <p>
+     * 启用后会通过反射将Selector内部基于HashSet的已就绪key集合替换为数组实现，
+     * 事件循环按下标遍历，省去哈希计算和迭代器分配。
+     * 若运行环境禁止反射访问sun.nio.ch（如JDK9+未配置--add-opens java.base/sun.nio.ch=ALL-UNNAMED），则自动降级为默认实现。
+     * </p>
+     *
+     * @return 当前provider对象
+     */
+    public EnhanceAsynchronousChannelProvider optimizeSelectedKeys() {
+        this.optimizeSelectedKeys = true;
+        return this;
+    }
+
+    boolean isOptimizeSelectedKeys() {
+        return optimizeSelectedKeys;
+    }
+
+    /**
+     * 设置读Worker的select策略，对之后创建的异步通道组生效。
+     * <p>
+     * 写Worker与通用Worker仍始终阻塞select，避免为低频事件消耗CPU。
+     * </p>
+     *
+     * @param selectStrategy select策略
+     * @return 当前provider对象
+     * @see SelectStrategy#spinThenPark(int, int, long)
+     */
+    public EnhanceAsynchronousChannelProvider setSelectStrategy(SelectStrategy selectStrategy) {
+        if (selectStrategy == null) {
+            throw new InvalidParameterException("selectStrategy is null");
+        }
+        this.selectStrategy = selectStrategy;
+        return this;
+    }
+
+    SelectStrategy getSelectStrategy() {
+        return selectStrategy;
+    }
+
+    /**
+     * 设置读Worker选择器，对之后创建的异步通道组生效，默认为轮询
+     *
+     * @param readWorkerChooser 读Worker选择器
+     * @return 当前provider对象
+     * @see WorkerChooser#leastConnections()
+     * @see WorkerChooser#leastRecentLoad()
+     */
+    public EnhanceAsynchronousChannelProvider setReadWorkerChooser(WorkerChooser readWorkerChooser) {
+        if (readWorkerChooser == null) {
+            throw new InvalidParameterException("readWorkerChooser is null");
+        }
+        this.readWorkerChooser = readWorkerChooser;
+        return this;
+    }
+
+    WorkerChooser getReadWorkerChooser() {
+        return readWorkerChooser;
+    }
+
+    /**
+     * 启用事件循环指标采集，对之后创建的异步通道组生效。
+     * <p>
+     * 启用后每轮循环及每次回调会额外读取System.nanoTime()，可通过{@link #getWorkerStatistics(AsynchronousChannelGroup)}
+     * 获取select与处理耗时、任务队列深度、最大回调耗时等指标；未启用时不产生额外开销。
+     * </p>
+     *
+     * @return 当前provider对象
+     */
+    public EnhanceAsynchronousChannelProvider enableMetrics() {
+        this.metricsEnabled = true;
+        return this;
+    }
+
+    boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 获取异步通道组中各Worker的运行统计
+     *
+     * @param group 由本provider创建的异步通道组
+     * @return Worker运行统计
+     */
+    public static List<WorkerStatistics> getWorkerStatistics(AsynchronousChannelGroup group) {
+        if (!(group instanceof EnhanceAsynchronousChannelGroup)) {
+            throw new RuntimeException("invalid class");
+        }
+        return ((EnhanceAsynchronousChannelGroup) group).getWorkerStatistics();
+    }
+
     /**
      * 创建一个新的异步通道组
      * 使用指定的线程数和线程工厂创建一个新的异步通道组，用于管理异步通道
@@ -101,6 +239,36 @@ public final class EnhanceAsynchronousChannelProvider extends AsynchronousChanne
         return new EnhanceAsynchronousServerSocketChannel(checkAndGet(group));
     }
 
+    /**
+     * 为异步通道组中的每个读Worker各创建一个服务器Socket通道，由该读Worker直接监听OP_ACCEPT事件，
+     * 接收的连接也固定由该读Worker处理。
+     * <p>
+     * 配合SO_REUSEPORT将这些通道绑定至同一端口后，由内核在多个监听socket之间均衡分发新连接，
+     * 避免单个accept线程成为连接风暴时的瓶颈。SO_REUSEPORT须在bind之前由调用方设置。
+     * </p>
+     *
+     * @param group 关联的异步通道组
+     * @return 与读Worker数量相同的服务器Socket通道
+     * @throws IOException 如果创建过程中发生IO错误
+     */
+    public AsynchronousServerSocketChannel[] openAsynchronousServerSocketChannels(AsynchronousChannelGroup group) throws IOException {
+        EnhanceAsynchronousChannelGroup enhanceGroup = checkAndGet(group);
+        AsynchronousServerSocketChannel[] channels = new AsynchronousServerSocketChannel[enhanceGroup.getReadWorkerNum()];
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                channels[i] = new EnhanceAsynchronousServerSocketChannel(enhanceGroup, enhanceGroup.getReadWorker(i));
+            }
+        } catch (IOException e) {
+            for (AsynchronousServerSocketChannel channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            throw e;
+        }
+        return channels;
+    }
+
     /**
      * 创建一个新的异步客户端Socket通道
      * 用于客户端发起连接请求和数据传输
@@ -51,6 +51,12 @@ final class EnhanceAsynchronousServerSocketChannel extends AsynchronousServerSoc
      */
     private final EnhanceAsynchronousChannelGroup enhanceAsynchronousChannelGroup;
 
+    /**
+     * 负责监听OP_ACCEPT事件的Worker，默认为通用Worker。
+     * SO_REUSEPORT模式下为读Worker，此时新连接固定由该读Worker处理，不再经过读Worker选择器分配
+     */
+    private final EnhanceAsynchronousChannelGroup.Worker acceptWorker;
+
     /**
      * 接受连接的回调处理器，用于处理新连接建立后的回调逻辑
      */
@@ -85,12 +91,33 @@ final class EnhanceAsynchronousServerSocketChannel extends AsynchronousServerSoc
      * @throws IOException 如果创建底层通道时发生IO错误
      */
     EnhanceAsynchronousServerSocketChannel(EnhanceAsynchronousChannelGroup enhanceAsynchronousChannelGroup) throws IOException {
+        this(enhanceAsynchronousChannelGroup, enhanceAsynchronousChannelGroup.commonWorker);
+    }
+
+    /**
+     * 创建由指定Worker监听连接事件的服务器Socket通道
+     *
+     * @param enhanceAsynchronousChannelGroup 关联的异步通道组
+     * @param acceptWorker                    监听OP_ACCEPT事件的Worker
+     * @throws IOException 如果创建底层通道时发生IO错误
+     */
+    EnhanceAsynchronousServerSocketChannel(EnhanceAsynchronousChannelGroup enhanceAsynchronousChannelGroup, EnhanceAsynchronousChannelGroup.Worker acceptWorker) throws IOException {
         super(enhanceAsynchronousChannelGroup.provider());
         this.enhanceAsynchronousChannelGroup = enhanceAsynchronousChannelGroup;
+        this.acceptWorker = acceptWorker;
         serverSocketChannel = ServerSocketChannel.open();
         serverSocketChannel.configureBlocking(false);
     }
 
+    /**
+     * 所属Worker重建Selector后更新缓存的SelectionKey
+     */
+    final void selectorRebuilt(SelectionKey oldKey, SelectionKey newKey) {
+        if (selectionKey == oldKey) {
+            selectionKey = newKey;
+        }
+    }
+
     /**
      * 将服务器Socket绑定到指定的本地地址
      *
@@ -175,7 +202,9 @@ final class EnhanceAsynchronousServerSocketChannel extends AsynchronousServerSoc
                 socketChannel = serverSocketChannel.accept();
             }
             if (socketChannel != null) {
-                EnhanceAsynchronousSocketChannel asynchronousSocketChannel = new EnhanceAsynchronousSocketChannel(enhanceAsynchronousChannelGroup, socketChannel);
+                EnhanceAsynchronousSocketChannel asynchronousSocketChannel = acceptWorker == enhanceAsynchronousChannelGroup.commonWorker
+                        ? new EnhanceAsynchronousSocketChannel(enhanceAsynchronousChannelGroup, socketChannel)
+                        : new EnhanceAsynchronousSocketChannel(enhanceAsynchronousChannelGroup, socketChannel, acceptWorker);
                 //这行代码不要乱动
                 socketChannel.configureBlocking(false);
                 socketChannel.finishConnect();
@@ -189,7 +218,7 @@ final class EnhanceAsynchronousServerSocketChannel extends AsynchronousServerSoc
             }
             //首次注册selector
             else if (selectionKey == null) {
-                enhanceAsynchronousChannelGroup.commonWorker.addRegister(selector -> {
+                acceptWorker.addRegister(selector -> {
                     try {
                         selectionKey = serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT, EnhanceAsynchronousServerSocketChannel.this);
 //                        selectionKey.attach(EnhanceAsynchronousServerSocketChannel.this);
@@ -198,7 +227,7 @@ final class EnhanceAsynchronousServerSocketChannel extends AsynchronousServerSoc
                     }
                 });
             } else {
-                EnhanceAsynchronousChannelGroup.interestOps(enhanceAsynchronousChannelGroup.commonWorker, selectionKey, SelectionKey.OP_ACCEPT);
+                EnhanceAsynchronousChannelGroup.interestOps(acceptWorker, selectionKey, SelectionKey.OP_ACCEPT);
             }
         } catch (IOException e) {
             this.acceptCompletionHandler.failed(e, attachment);
@@ -9,6 +9,7 @@
 
 package io.github.smartboot.socket.enhance;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.net.SocketOption;
@@ -17,7 +18,9 @@ import java.nio.channels.AlreadyConnectedException;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ConnectionPendingException;
+import java.nio.channels.InterruptedByTimeoutException;
 import java.nio.channels.ReadPendingException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.ShutdownChannelGroupException;
@@ -27,6 +30,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * 该类模拟JDK7的AIO处理方式，通过NIO实现异步IO操作。
@@ -53,7 +57,7 @@ import java.util.concurrent.TimeUnit;
  * @author 三刀
  * @version V1.0 , 2018/5/24
  */
-class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
+class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel implements EnhanceChannel {
     /**
      * 底层的Socket通道，用于实际的网络IO操作
      * 该通道是非阻塞模式的，支持异步读写操作
@@ -66,6 +70,12 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
      */
     private final EnhanceAsynchronousChannelGroup.Worker readWorker;
 
+    /**
+     * 处理写事件的工作线程，当出现半包写时由其监听OP_WRITE事件并继续输出
+     * 多个写Worker分摊连接，避免大流量推送场景下单个写线程成为瓶颈
+     */
+    private final EnhanceAsynchronousChannelGroup.Worker writeWorker;
+
     /**
      * 读缓冲区，用于存储从通道读取的数据
      * 数据读取后经过解码处理，处理完成后缓冲区可重复使用
@@ -73,6 +83,21 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
      */
     private ByteBuffer readBuffer;
 
+    /**
+     * 分散读的缓冲区组，非空时通过一次系统调用将数据依次读入多个缓冲区
+     */
+    private ByteBuffer[] readBuffers;
+
+    /**
+     * 分散读缓冲区组的起始下标
+     */
+    private int readOffset;
+
+    /**
+     * 分散读缓冲区组的有效长度
+     */
+    private int readLength;
+
     /**
      * 写缓冲区，用于存储待写入通道的数据
      * 支持异步写入操作，提高IO效率
@@ -91,6 +116,26 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
      */
     private CompletionHandler<Integer, Object> writeCompletionHandler;
 
+    /**
+     * 聚集写操作的回调处理器，与writeCompletionHandler互斥
+     */
+    private CompletionHandler<Long, Object> gatheringWriteCompletionHandler;
+
+    /**
+     * 聚集写的缓冲区组，通过一次writev系统调用输出多个缓冲区
+     */
+    private ByteBuffer[] writeBuffers;
+
+    /**
+     * 聚集写缓冲区组的起始下标
+     */
+    private int writeOffset;
+
+    /**
+     * 聚集写缓冲区组的有效长度
+     */
+    private int writeLength;
+
     /**
      * 读操作的附加对象，可在回调时传递额外的上下文信息
      * 用于在异步操作完成时传递自定义数据
@@ -110,11 +155,11 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
     private SelectionKey readSelectionKey;
 
     /**
-     * 写操作中断标志
-     * 用于控制写操作的中断状态，防止写操作重入
-     * true表示写操作被中断，false表示可以继续写入
+     * 写完成回调的执行状态，用于防止写操作重入
+     * <p>回调期间发起的写操作(包括其他线程在回调中途获得输出权后发起的写操作)交由回调所在线程在回调结束后执行，
+     * 避免与尚未退出回调的线程并发访问写状态</p>
      */
-    private boolean writeInterrupted;
+    private volatile int writeState = WRITE_IDLE;
 
     /**
      * 读操作调用计数器
@@ -123,10 +168,110 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
      */
     private byte readInvoker = EnhanceAsynchronousChannelGroup.MAX_INVOKER;
 
+    /**
+     * 允许连续推测性直接读取的次数上限，根据命中情况自适应调整。
+     * 推测读返回0字节时减半，读到数据时加1，最大为MAX_INVOKER；
+     * 为0时不再推测读取，直接进入读监听，直至Selector通知的读取填满缓冲区后再恢复。
+     * 低流量连接由此省去每次唤醒后必然落空的read系统调用。
+     */
+    private byte readSpin = EnhanceAsynchronousChannelGroup.MAX_INVOKER;
+
+    /**
+     * 零拷贝输出的文件通道
+     */
+    private FileChannel transferChannel;
+
+    /**
+     * 零拷贝输出的文件起始位置
+     */
+    private long transferPosition;
+
+    /**
+     * 零拷贝输出的最大字节数
+     */
+    private long transferCount;
+
+    /**
+     * 当前读操作的超时时长(纳秒)，0表示不超时
+     */
+    private long readTimeout;
+
+    /**
+     * 当前写操作的超时时长(纳秒)，0表示不超时
+     */
+    private long writeTimeout;
+
+    /**
+     * 读超时节点，挂载于读Worker的时间轮，首次使用时创建
+     */
+    private IoTimeout readTimeoutTask;
+
+    /**
+     * 写超时节点，挂载于写Worker的时间轮，首次使用时创建
+     */
+    private IoTimeout writeTimeoutTask;
+
+    private static final AtomicIntegerFieldUpdater<EnhanceAsynchronousSocketChannel> WRITE_STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(EnhanceAsynchronousSocketChannel.class, "writeState");
+    /**
+     * 未处于写完成回调中
+     */
+    private static final int WRITE_IDLE = 0;
+    /**
+     * 正在执行写完成回调
+     */
+    private static final int WRITE_CALLBACK = 1;
+    /**
+     * 写完成回调期间发起了新的写操作
+     */
+    private static final int WRITE_DEFERRED = 2;
+    private static final AtomicIntegerFieldUpdater<EnhanceAsynchronousSocketChannel> RELEASED_UPDATER = AtomicIntegerFieldUpdater.newUpdater(EnhanceAsynchronousSocketChannel.class, "released");
+    /**
+     * 是否已从所属读Worker的连接数中扣除，避免重复close导致计数错误
+     */
+    private volatile int released;
+
     public EnhanceAsynchronousSocketChannel(EnhanceAsynchronousChannelGroup group, SocketChannel channel) throws IOException {
+        this(group, channel, group.getReadWorker());
+    }
+
+    /**
+     * @param readWorker 指定的读Worker，SO_REUSEPORT模式下新连接固定由接收它的读Worker处理
+     */
+    EnhanceAsynchronousSocketChannel(EnhanceAsynchronousChannelGroup group, SocketChannel channel, EnhanceAsynchronousChannelGroup.Worker readWorker) throws IOException {
         super(group.provider());
         this.channel = channel;
-        readWorker = group.getReadWorker();
+        this.readWorker = readWorker;
+        readWorker.connectionCount.incrementAndGet();
+        writeWorker = group.getWriteWorker();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        readWorker.execute(task);
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delay, TimeUnit unit) {
+        return readWorker.schedule(task, delay, unit);
+    }
+
+    @Override
+    public boolean inEventLoop() {
+        return readWorker.inEventLoop();
+    }
+
+    @Override
+    public void addShutdownHook(Runnable hook) {
+        readWorker.group().addShutdownHook(hook);
+    }
+
+    /**
+     * 读Worker重建Selector后更新缓存的SelectionKey
+     */
+    final void selectorRebuilt(SelectionKey oldKey, SelectionKey newKey) {
+        if (readSelectionKey == oldKey) {
+            readSelectionKey = newKey;
+        }
     }
 
     protected EnhanceAsynchronousChannelGroup group() {
@@ -135,6 +280,9 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
 
     @Override
     public final void close() throws IOException {
+        if (RELEASED_UPDATER.compareAndSet(this, 0, 1)) {
+            readWorker.connectionCount.decrementAndGet();
+        }
         IOException exception = null;
         try {
             if (channel.isOpen()) {
@@ -150,7 +298,7 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
             readSelectionKey.cancel();
             readSelectionKey = null;
         }
-        SelectionKey key = channel.keyFor(group().writeWorker.selector);
+        SelectionKey key = channel.keyFor(writeWorker.selector);
         if (key != null) {
             key.cancel();
         }
@@ -268,6 +416,7 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
         this.readBuffer = dst;
         this.readAttachment = attachment;
         this.readCompletionHandler = (CompletionHandler<Integer, Object>) handler;
+        this.readTimeout = timeout > 0 ? unit.toNanos(timeout) : 0;
         boolean syncRead = EnhanceAsynchronousChannelProvider.SYNC_READ_FLAG.get();
         doRead(syncRead, syncRead);
     }
@@ -287,18 +436,58 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
 
     @Override
     public final <A> void read(ByteBuffer[] dsts, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
-        throw new UnsupportedOperationException();
+        if ((offset < 0) || (length < 0) || (offset > dsts.length - length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.readCompletionHandler != null) {
+            throw new ReadPendingException();
+        }
+        if (length == 0) {
+            handler.completed(0L, attachment);
+            return;
+        }
+        this.readBuffers = dsts;
+        this.readOffset = offset;
+        this.readLength = length;
+        //以最后一个缓冲区是否填满作为分散读的剩余空间判断依据
+        this.readBuffer = dsts[offset + length - 1];
+        this.readAttachment = attachment;
+        this.readCompletionHandler = new ScatteringReadCompletionHandler<>(handler);
+        this.readTimeout = timeout > 0 ? unit.toNanos(timeout) : 0;
+        doRead(false, false);
+    }
+
+    /**
+     * 将分散读的结果适配为Long类型回调
+     */
+    private static final class ScatteringReadCompletionHandler<A> implements CompletionHandler<Integer, Object> {
+        private final CompletionHandler<Long, ? super A> handler;
+
+        ScatteringReadCompletionHandler(CompletionHandler<Long, ? super A> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void completed(Integer result, Object attachment) {
+            handler.completed(result.longValue(), (A) attachment);
+        }
+
+        @Override
+        public void failed(Throwable exc, Object attachment) {
+            handler.failed(exc, (A) attachment);
+        }
     }
 
     @Override
     public final <A> void write(ByteBuffer src, long timeout, TimeUnit unit, A attachment, CompletionHandler<Integer, ? super A> handler) {
-        if (this.writeCompletionHandler != null) {
+        if (this.writeCompletionHandler != null || this.gatheringWriteCompletionHandler != null) {
             throw new WritePendingException();
         }
         this.writeBuffer = src;
         this.writeAttachment = attachment;
         this.writeCompletionHandler = (CompletionHandler<Integer, Object>) handler;
-        while (doWrite()) ;
+        this.writeTimeout = timeout > 0 ? unit.toNanos(timeout) : 0;
+        submitWrite();
     }
 
 
@@ -309,7 +498,36 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
 
     @Override
     public final <A> void write(ByteBuffer[] srcs, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
-        throw new UnsupportedOperationException();
+        if ((offset < 0) || (length < 0) || (offset > srcs.length - length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.writeCompletionHandler != null || this.gatheringWriteCompletionHandler != null) {
+            throw new WritePendingException();
+        }
+        this.writeBuffers = srcs;
+        this.writeOffset = offset;
+        this.writeLength = length;
+        this.writeAttachment = attachment;
+        this.gatheringWriteCompletionHandler = (CompletionHandler<Long, Object>) handler;
+        this.writeTimeout = timeout > 0 ? unit.toNanos(timeout) : 0;
+        submitWrite();
+    }
+
+    @Override
+    public final <A> void transferFrom(FileChannel src, long position, long count, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+        if (position < 0 || count <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (this.writeCompletionHandler != null || this.gatheringWriteCompletionHandler != null) {
+            throw new WritePendingException();
+        }
+        this.transferChannel = src;
+        this.transferPosition = position;
+        this.transferCount = count;
+        this.writeAttachment = attachment;
+        this.gatheringWriteCompletionHandler = (CompletionHandler<Long, Object>) handler;
+        this.writeTimeout = timeout > 0 ? unit.toNanos(timeout) : 0;
+        submitWrite();
     }
 
     @Override
@@ -340,14 +558,33 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
                 completionHandler.completed(EnhanceAsynchronousChannelProvider.READABLE_SIGNAL, attach);
                 return;
             }
-            // 判断是否需要直接读取：直接调用或未达到最大调用次数
-            boolean directRead = direct || readInvoker++ < EnhanceAsynchronousChannelGroup.MAX_INVOKER;
+            // 判断是否需要直接读取：直接调用或未达到自适应的推测读取上限
+            boolean directRead = direct || readInvoker++ < readSpin;
 
             int readSize = 0;
             boolean hasRemain = true;
             if (directRead) {
-                readSize = channel.read(readBuffer);
+                readSize = readBuffers == null ? channel.read(readBuffer) : (int) channel.read(readBuffers, readOffset, readLength);
                 hasRemain = readBuffer.hasRemaining();
+                if (!direct) {
+                    //推测性读取，根据命中情况调整后续的推测次数
+                    if (readSize == 0) {
+                        readSpin >>= 1;
+                        if (readWorker.metrics) {
+                            readWorker.directReadMissCount.increment();
+                        }
+                    } else {
+                        if (readSpin < EnhanceAsynchronousChannelGroup.MAX_INVOKER) {
+                            readSpin++;
+                        }
+                        if (readWorker.metrics) {
+                            readWorker.directReadHitCount.increment();
+                        }
+                    }
+                } else if (!hasRemain && readSpin == 0) {
+                    //就绪读取填满了缓冲区，管道中大概率仍有数据，恢复推测读取
+                    readSpin = 1;
+                }
                 //当readBuffer未填充满，我们推测当前管道中大概率没有可读数据，下一次直接进入读监听状态
                 if (hasRemain) {
                     readInvoker = EnhanceAsynchronousChannelGroup.MAX_INVOKER;
@@ -367,8 +604,8 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
                     });
                     return;
                 }
-                //进入 read 监听之前释放缓冲区，节省内存
-                if (readBuffer.position() == 0) {
+                //进入 read 监听之前释放缓冲区，节省内存。分散读的缓冲区由调用方管理，不做释放
+                if (readBuffers == null && readBuffer.position() == 0) {
                     readBuffer = null;
                     readCompletionHandler.completed(EnhanceAsynchronousChannelProvider.READ_MONITOR_SIGNAL, readAttachment);
                 }
@@ -385,6 +622,7 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
                     EnhanceAsynchronousChannelGroup.removeOps(readSelectionKey, SelectionKey.OP_READ);
                 }
             } else if (readSelectionKey == null) {
+                armReadTimeout();
                 readWorker.addRegister(selector -> {
                     try {
                         if (channel.isOpen()) {
@@ -397,6 +635,7 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
                     }
                 });
             } else {
+                armReadTimeout();
                 EnhanceAsynchronousChannelGroup.interestOps(readWorker, readSelectionKey, SelectionKey.OP_READ);
             }
         } catch (Throwable e) {
@@ -416,10 +655,42 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
         }
     }
 
+    /**
+     * 进入读监听，开始计时。须先于注册OP_READ，否则事件就绪后的disarm可能早于arm执行而残留到期时间
+     */
+    private void armReadTimeout() {
+        if (readTimeout > 0) {
+            if (readTimeoutTask == null) {
+                readTimeoutTask = new IoTimeout(readWorker, this::readTimeout);
+            }
+            readTimeoutTask.arm(readTimeout);
+        }
+    }
+
     private void resetRead() {
         readCompletionHandler = null;
         readAttachment = null;
         readBuffer = null;
+        readBuffers = null;
+        if (readTimeoutTask != null) {
+            readTimeoutTask.disarm();
+        }
+    }
+
+    /**
+     * 读操作超时，由读Worker线程触发，与OP_READ事件的处理串行执行
+     */
+    private void readTimeout() {
+        CompletionHandler<Integer, Object> completionHandler = readCompletionHandler;
+        if (completionHandler == null) {
+            return;
+        }
+        Object attach = readAttachment;
+        if (readSelectionKey != null) {
+            EnhanceAsynchronousChannelGroup.removeOps(readSelectionKey, SelectionKey.OP_READ);
+        }
+        resetRead();
+        completionHandler.failed(new InterruptedByTimeoutException(), attach);
     }
 
     /**
@@ -433,12 +704,13 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
      * @return 是否需要继续写入，true表示需要继续写入，false表示写入完成或需要等待
      */
     public final boolean doWrite() {
-        // 处理写入中断的情况
-        if (writeInterrupted) {
-            writeInterrupted = false;
-            return false;
-        }
         try {
+            if (transferChannel != null) {
+                return doTransfer();
+            }
+            if (writeBuffers != null) {
+                return doGatheringWrite();
+            }
             // 尝试写入数据
             int writeSize = channel.write(writeBuffer);
 
@@ -447,37 +719,18 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
                 CompletionHandler<Integer, Object> completionHandler = writeCompletionHandler;
                 Object attach = writeAttachment;
                 resetWrite();
-                writeInterrupted = true;
+                writeState = WRITE_CALLBACK;
                 completionHandler.completed(writeSize, attach);
                 // 检查是否需要继续写入
-                if (!writeInterrupted) {
-                    return true;
-                }
-                writeInterrupted = false;
+                return writeCallbackFinished();
             } else {
-                // 注册写事件到选择器
-                SelectionKey commonSelectionKey = channel.keyFor(group().writeWorker.selector);
-                if (commonSelectionKey == null) {
-                    // 首次注册写事件
-                    group().writeWorker.addRegister(selector -> {
-                        try {
-                            if (channel.isOpen()) {
-                                channel.register(selector, SelectionKey.OP_WRITE, EnhanceAsynchronousSocketChannel.this);
-                            }
-                        } catch (ClosedChannelException e) {
-                            if (writeCompletionHandler != null) {
-                                writeCompletionHandler.failed(e, writeAttachment);
-                            }
-                        }
-                    });
-                } else {
-                    // 更新已存在的选择键的兴趣事件
-                    EnhanceAsynchronousChannelGroup.interestOps(group().writeWorker, commonSelectionKey, SelectionKey.OP_WRITE);
-                }
+                registerWrite();
             }
         } catch (Throwable e) {
             // 异常处理
-            if (writeCompletionHandler == null) {
+            if (gatheringWriteCompletionHandler != null) {
+                gatheringWriteCompletionHandler.failed(e, writeAttachment);
+            } else if (writeCompletionHandler == null) {
                 try {
                     close();
                 } catch (IOException ignored) {
@@ -489,10 +742,141 @@ class EnhanceAsynchronousSocketChannel extends AsynchronousSocketChannel {
         return false;
     }
 
+    /**
+     * 执行聚集写，一次系统调用输出全部缓冲区
+     *
+     * @return 是否需要继续写入
+     */
+    private boolean doGatheringWrite() throws IOException {
+        long writeSize = channel.write(writeBuffers, writeOffset, writeLength);
+        if (writeSize != 0 || writeLength == 0 || !writeBuffers[writeOffset + writeLength - 1].hasRemaining()) {
+            return gatheringWriteCompleted(writeSize);
+        }
+        registerWrite();
+        return false;
+    }
+
+    /**
+     * 执行零拷贝输出，一次sendfile系统调用
+     *
+     * @return 是否需要继续写入
+     */
+    private boolean doTransfer() throws IOException {
+        long writeSize = transferChannel.transferTo(transferPosition, transferCount, channel);
+        if (writeSize != 0) {
+            return gatheringWriteCompleted(writeSize);
+        }
+        //transferTo在文件读取完毕与Socket缓冲区已满时均返回0，前者需终止输出
+        if (transferPosition >= transferChannel.size()) {
+            throw new EOFException("position " + transferPosition + " exceeds file size " + transferChannel.size());
+        }
+        registerWrite();
+        return false;
+    }
+
+    /**
+     * 聚集写及零拷贝输出完成回调
+     *
+     * @return 是否需要继续写入
+     */
+    private boolean gatheringWriteCompleted(long writeSize) {
+        CompletionHandler<Long, Object> completionHandler = gatheringWriteCompletionHandler;
+        Object attach = writeAttachment;
+        resetWrite();
+        writeState = WRITE_CALLBACK;
+        completionHandler.completed(writeSize, attach);
+        return writeCallbackFinished();
+    }
+
+    /**
+     * 发起写操作，写完成回调期间发起的写操作由回调所在线程在回调结束后执行
+     */
+    private void submitWrite() {
+        if (writeState == WRITE_CALLBACK && WRITE_STATE_UPDATER.compareAndSet(this, WRITE_CALLBACK, WRITE_DEFERRED)) {
+            return;
+        }
+        while (doWrite()) ;
+    }
+
+    /**
+     * 写完成回调结束
+     *
+     * @return 回调期间是否发起了新的写操作
+     */
+    private boolean writeCallbackFinished() {
+        if (WRITE_STATE_UPDATER.compareAndSet(this, WRITE_CALLBACK, WRITE_IDLE)) {
+            return false;
+        }
+        writeState = WRITE_IDLE;
+        return true;
+    }
+
+    /**
+     * 出现半包写时，由写Worker监听OP_WRITE事件
+     */
+    private void registerWrite() {
+        //进入写监听，开始计时。须先于注册OP_WRITE，否则事件就绪后的disarm可能早于arm执行而残留到期时间
+        if (writeTimeout > 0) {
+            if (writeTimeoutTask == null) {
+                writeTimeoutTask = new IoTimeout(writeWorker, this::writeTimeout);
+            }
+            writeTimeoutTask.arm(writeTimeout);
+        }
+        SelectionKey commonSelectionKey = channel.keyFor(writeWorker.selector);
+        if (commonSelectionKey == null) {
+            // 首次注册写事件
+            writeWorker.addRegister(selector -> {
+                try {
+                    if (channel.isOpen()) {
+                        channel.register(selector, SelectionKey.OP_WRITE, EnhanceAsynchronousSocketChannel.this);
+                    }
+                } catch (ClosedChannelException e) {
+                    if (gatheringWriteCompletionHandler != null) {
+                        gatheringWriteCompletionHandler.failed(e, writeAttachment);
+                    } else if (writeCompletionHandler != null) {
+                        writeCompletionHandler.failed(e, writeAttachment);
+                    }
+                }
+            });
+        } else {
+            // 更新已存在的选择键的兴趣事件
+            EnhanceAsynchronousChannelGroup.interestOps(writeWorker, commonSelectionKey, SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * 写操作超时，由写Worker线程触发，与OP_WRITE事件的处理串行执行
+     */
+    private void writeTimeout() {
+        if (writeCompletionHandler == null && gatheringWriteCompletionHandler == null) {
+            return;
+        }
+        SelectionKey commonSelectionKey = channel.keyFor(writeWorker.selector);
+        if (commonSelectionKey != null) {
+            EnhanceAsynchronousChannelGroup.removeOps(commonSelectionKey, SelectionKey.OP_WRITE);
+        }
+        CompletionHandler<Integer, Object> completionHandler = writeCompletionHandler;
+        CompletionHandler<Long, Object> gatheringCompletionHandler = gatheringWriteCompletionHandler;
+        Object attach = writeAttachment;
+        resetWrite();
+        InterruptedByTimeoutException exception = new InterruptedByTimeoutException();
+        if (gatheringCompletionHandler != null) {
+            gatheringCompletionHandler.failed(exception, attach);
+        } else {
+            completionHandler.failed(exception, attach);
+        }
+    }
+
     private void resetWrite() {
         writeAttachment = null;
         writeCompletionHandler = null;
         writeBuffer = null;
+        gatheringWriteCompletionHandler = null;
+        writeBuffers = null;
+        transferChannel = null;
+        if (writeTimeoutTask != null) {
+            writeTimeoutTask.disarm();
+        }
     }
 
     @Override
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: EnhanceChannel.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * smart-socket增强通道在标准AsynchronousSocketChannel之外提供的能力。
+ * <p>
+ * 由{@link EnhanceAsynchronousChannelProvider}创建的Socket通道均实现了该接口，
+ * 对通道进行包装的代理类应将调用透传给被代理的通道。
+ * </p>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public interface EnhanceChannel {
+
+    /**
+     * 在当前通道所属的读事件循环线程中执行任务。
+     * <p>
+     * 任务总是进入事件循环的任务队列，即便调用者本身就是该事件循环线程，
+     * 同一通道提交的任务按提交顺序执行。
+     * 适用于业务线程完成异步处理后切回IO线程输出数据，避免与IO线程竞争WriteBuffer的锁。
+     * </p>
+     *
+     * @param task 待执行的任务，任务中不应执行阻塞操作
+     * @throws java.util.concurrent.RejectedExecutionException 异步通道组已关闭
+     */
+    void execute(Runnable task);
+
+    /**
+     * 在当前通道所属的读事件循环线程中延迟执行任务
+     *
+     * @param task  待执行的任务，任务中不应执行阻塞操作
+     * @param delay 延迟时长
+     * @param unit  时长单位
+     * @return 定时任务，可用于取消
+     * @throws java.util.concurrent.RejectedExecutionException 异步通道组已关闭
+     */
+    ScheduledTask schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * 当前线程是否为该通道所属的读事件循环线程
+     */
+    boolean inEventLoop();
+
+    /**
+     * 注册当前通道所属的异步通道组关闭时执行的回调，通道组已关闭时立即执行
+     *
+     * @param hook 关闭回调
+     * @see EnhanceAsynchronousChannelGroup#addShutdownHook(Runnable)
+     */
+    void addShutdownHook(Runnable hook);
+
+    /**
+     * 通过{@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}将文件数据直接输出至底层Socket(sendfile)，
+     * 数据无需经过用户态缓冲区。语义与聚集写一致：每次回调返回本次输出的字节数，未输出完毕的部分需再次调用；
+     * Socket发送缓冲区已满时由写Worker监听OP_WRITE事件后继续输出。
+     *
+     * @param src        文件通道，由调用方负责关闭
+     * @param position   文件起始位置
+     * @param count      最多输出的字节数
+     * @param timeout    等待OP_WRITE的超时时长，小于等于0表示不超时
+     * @param unit       时长单位
+     * @param attachment 回调附件
+     * @param handler    完成回调
+     * @throws UnsupportedOperationException           通道需对数据进行加工(如SSL)，不支持零拷贝输出
+     * @throws java.nio.channels.WritePendingException 存在未完成的写操作
+     */
+    <A> void transferFrom(FileChannel src, long position, long count, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler);
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: IoTimeout.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+import java.nio.channels.Selector;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * 通道读/写操作的超时节点。
+ * <p>
+ * 每个通道的读、写各持有一个节点并重复使用。启用超时只更新到期时间，节点未挂入时间轮时才提交至所属Worker；
+ * 取消超时仅将到期时间置0，节点在所处槽位到期时由Worker惰性移除。因此高频的读写操作无需分配对象，也不会产生跨线程唤醒。
+ * </p>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+final class IoTimeout implements Consumer<Selector> {
+    private static final AtomicIntegerFieldUpdater<IoTimeout> SCHEDULED_UPDATER = AtomicIntegerFieldUpdater.newUpdater(IoTimeout.class, "scheduled");
+    private static final AtomicLongFieldUpdater<IoTimeout> DEADLINE_UPDATER = AtomicLongFieldUpdater.newUpdater(IoTimeout.class, "deadline");
+    private final EnhanceAsynchronousChannelGroup.Worker worker;
+    /**
+     * 超时回调，在Worker线程中执行
+     */
+    private final Runnable task;
+    /**
+     * 到期时间，基于System.nanoTime()，0表示未启用
+     */
+    volatile long deadline;
+    /**
+     * 是否已挂入(或正提交至)时间轮
+     */
+    private volatile int scheduled;
+    /**
+     * 时间轮槽位中的下一个节点，仅由Worker线程访问
+     */
+    IoTimeout next;
+
+    IoTimeout(EnhanceAsynchronousChannelGroup.Worker worker, Runnable task) {
+        this.worker = worker;
+        this.task = task;
+    }
+
+    /**
+     * 启用超时
+     *
+     * @param timeoutNanos 超时时长
+     */
+    void arm(long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        this.deadline = deadline == 0 ? 1 : deadline;
+        if (scheduled == 0 && SCHEDULED_UPDATER.compareAndSet(this, 0, 1)) {
+            if (worker.inEventLoop()) {
+                worker.timingWheel.add(this);
+            } else {
+                worker.addRegister(this);
+            }
+        }
+    }
+
+    /**
+     * 取消超时
+     */
+    void disarm() {
+        if (deadline != 0) {
+            deadline = 0;
+        }
+    }
+
+    @Override
+    public void accept(Selector selector) {
+        worker.timingWheel.add(this);
+    }
+
+    /**
+     * 所处槽位到期时由时间轮调用
+     *
+     * @param now 当前时间
+     * @return 是否需要重新挂入时间轮
+     */
+    boolean expire(long now) {
+        long deadline = this.deadline;
+        if (deadline == 0) {
+            scheduled = 0;
+            //与arm并发：arm更新到期时间后发现节点仍处于挂载状态而未提交，此处需补充挂入
+            return this.deadline != 0 && SCHEDULED_UPDATER.compareAndSet(this, 0, 1);
+        }
+        if (deadline - now > 0 || !DEADLINE_UPDATER.compareAndSet(this, deadline, 0)) {
+            return true;
+        }
+        scheduled = 0;
+        try {
+            task.run();
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
+        }
+        return false;
+    }
+}
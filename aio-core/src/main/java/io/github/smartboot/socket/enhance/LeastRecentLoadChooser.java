@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: LeastRecentLoadChooser.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+/**
+ * 按近期负载选择读Worker。
+ * <p>
+ * Worker的负载每隔一个结算周期才更新一次，周期内新分配的连接尚未体现在负载中。
+ * 为避免突发的新连接在同一周期内全部分配给同一Worker，周期内新增的连接按每连接的平均负载折算后计入负载；
+ * 负载相同时(如均处于空闲状态)选择连接数较少的Worker。
+ * </p>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ * @see WorkerChooser#leastRecentLoad()
+ */
+final class LeastRecentLoadChooser implements WorkerChooser {
+    /**
+     * 当前周期的开始时间
+     */
+    private long windowStart;
+    /**
+     * 当前周期开始时各Worker的连接数
+     */
+    private int[] baseConnectionCounts;
+
+    @Override
+    public synchronized int choose(WorkerStatistics[] workers) {
+        long now = System.nanoTime();
+        if (baseConnectionCounts == null || baseConnectionCounts.length != workers.length || now - windowStart >= EnhanceAsynchronousChannelGroup.LOAD_WINDOW) {
+            if (baseConnectionCounts == null || baseConnectionCounts.length != workers.length) {
+                baseConnectionCounts = new int[workers.length];
+            }
+            for (int i = 0; i < workers.length; i++) {
+                baseConnectionCounts[i] = workers[i].connectionCount();
+            }
+            windowStart = now;
+        }
+        double totalLoad = 0;
+        long totalConnections = 0;
+        for (WorkerStatistics worker : workers) {
+            totalLoad += worker.recentLoad();
+            totalConnections += worker.connectionCount();
+        }
+        double connectionLoad = totalConnections == 0 ? 0 : totalLoad / totalConnections;
+
+        int index = 0;
+        double min = Double.MAX_VALUE;
+        int minConnections = Integer.MAX_VALUE;
+        for (int i = 0; i < workers.length; i++) {
+            int connections = workers[i].connectionCount();
+            double load = workers[i].recentLoad() + Math.max(0, connections - baseConnectionCounts[i]) * connectionLoad;
+            if (load < min || load == min && connections < minConnections) {
+                min = load;
+                minConnections = connections;
+                index = i;
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: ScheduledTask.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+/**
+ * 提交至事件循环的定时任务
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ * @see EnhanceChannel#schedule(Runnable, long, java.util.concurrent.TimeUnit)
+ */
+public interface ScheduledTask {
+    /**
+     * 定时任务是否已执行
+     */
+    boolean isDone();
+
+    boolean isCancelled();
+
+    /**
+     * 取消定时任务，已执行的任务取消无效
+     */
+    void cancel();
+}
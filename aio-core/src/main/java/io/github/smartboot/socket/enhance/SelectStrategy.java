@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: SelectStrategy.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+import java.security.InvalidParameterException;
+
+/**
+ * 事件循环的select策略。
+ * <p>
+ * Worker每轮循环在处理完待注册事件后，根据连续空转次数决定本轮如何等待IO事件：
+ * <ul>
+ *     <li>{@link #SELECT_NOW}：执行selectNow()，不阻塞，即忙等(spin)</li>
+ *     <li>{@link #BLOCK}：执行select()，阻塞直至有事件就绪或被唤醒</li>
+ *     <li>大于0：先park指定纳秒数，再执行selectNow()</li>
+ * </ul>
+ * 默认策略{@link #BLOCKING}始终阻塞，与以往行为一致。
+ * 对延迟敏感的服务可通过{@link #spinThenPark(int, int, long)}以CPU开销换取更低的尾延迟。
+ * </p>
+ * 策略对象会被多个Worker共享，实现类须是无状态的。
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public interface SelectStrategy {
+    /**
+     * 非阻塞select
+     */
+    long SELECT_NOW = -1;
+    /**
+     * 阻塞select
+     */
+    long BLOCK = 0;
+
+    /**
+     * 始终阻塞在select()
+     */
+    SelectStrategy BLOCKING = idleCount -> BLOCK;
+
+    /**
+     * 计算本轮的select方式
+     *
+     * @param idleCount 连续未处理到任何事件的循环次数，处理到事件后归零
+     * @return {@link #SELECT_NOW}、{@link #BLOCK}，或者大于0的park纳秒数
+     */
+    long calculate(int idleCount);
+
+    /**
+     * 先忙等spinCount轮，再以parkNanos为间隔park parkCount轮，之后阻塞在select()
+     *
+     * @param spinCount 忙等轮数
+     * @param parkCount park轮数
+     * @param parkNanos 每次park的纳秒数
+     * @return select策略
+     */
+    static SelectStrategy spinThenPark(int spinCount, int parkCount, long parkNanos) {
+        if (spinCount < 0 || parkCount < 0) {
+            throw new InvalidParameterException("spinCount and parkCount must >= 0");
+        }
+        if (parkCount > 0 && parkNanos <= 0) {
+            throw new InvalidParameterException("parkNanos must > 0");
+        }
+        int parkLimit = spinCount + parkCount;
+        return idleCount -> {
+            if (idleCount < spinCount) {
+                return SELECT_NOW;
+            } else if (idleCount < parkLimit) {
+                return parkNanos;
+            } else {
+                return BLOCK;
+            }
+        };
+    }
+}
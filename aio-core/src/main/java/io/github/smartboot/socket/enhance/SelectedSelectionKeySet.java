@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: SelectedSelectionKeySet.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+import java.nio.channels.SelectionKey;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 基于数组实现的已就绪SelectionKey集合。
+ * <p>
+ * 通过反射替换Selector内部的selectedKeys(HashSet)，Selector每次select时直接将就绪的key追加到数组尾部，
+ * Worker按下标遍历即可，避免了HashSet的哈希计算以及每轮事件循环的迭代器对象分配。
+ * </p>
+ * 该集合仅供Selector内部写入、Worker线程读取，不支持contains/remove等操作。
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+final class SelectedSelectionKeySet extends AbstractSet<SelectionKey> {
+    /**
+     * 已就绪的SelectionKey
+     */
+    SelectionKey[] keys = new SelectionKey[1024];
+    /**
+     * 已就绪的SelectionKey数量
+     */
+    int size;
+
+    @Override
+    public boolean add(SelectionKey selectionKey) {
+        if (selectionKey == null) {
+            return false;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+        }
+        keys[size++] = selectionKey;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<SelectionKey> iterator() {
+        return new Iterator<SelectionKey>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public SelectionKey next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return keys[index++];
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: TimingWheel.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Worker内置的时间轮，用于检测通道读写超时。
+ * <p>
+ * 每个槽位对应一个TICK，节点按到期时间挂入槽位的单向链表。槽位到期时整体摘下逐个检查：
+ * 已取消的节点移除，未到期(被重新启用或超出一轮)的节点按新的到期时间重新挂入，其余节点触发超时。
+ * 超时精度为一个TICK。
+ * </p>
+ * 仅由所属Worker线程访问，无需同步。
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+final class TimingWheel {
+    /**
+     * 槽位时长
+     */
+    static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private final IoTimeout[] buckets = new IoTimeout[WHEEL_SIZE];
+    private final long startTime = System.nanoTime();
+    /**
+     * 已处理至的槽位序号
+     */
+    private long tick;
+    /**
+     * 挂载的节点数
+     */
+    private int size;
+
+    void add(IoTimeout timeout) {
+        long ticks = (timeout.deadline - startTime) / TICK;
+        if (ticks <= tick) {
+            ticks = tick + 1;
+        }
+        int index = (int) (ticks & MASK);
+        timeout.next = buckets[index];
+        buckets[index] = timeout;
+        size++;
+    }
+
+    /**
+     * 处理截至now已到期的槽位
+     */
+    void expire(long now) {
+        long target = (now - startTime) / TICK;
+        //最多处理一整轮，超出部分的节点会在检查时重新挂入
+        for (int i = 0; tick < target && i < WHEEL_SIZE; i++) {
+            tick++;
+            int index = (int) (tick & MASK);
+            IoTimeout timeout = buckets[index];
+            buckets[index] = null;
+            while (timeout != null) {
+                IoTimeout next = timeout.next;
+                timeout.next = null;
+                size--;
+                if (timeout.expire(now)) {
+                    add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        if (tick < target) {
+            tick = target;
+        }
+    }
+
+    /**
+     * @return 下一个槽位的到期时间
+     */
+    long nextTick() {
+        return startTime + (tick + 1) * TICK;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: WorkerChooser.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读Worker选择器，决定新建连接由哪个读事件循环线程负责。
+ * <p>
+ * 连接在整个生命周期内固定归属被选中的Worker。
+ * 选择器可能被多个线程并发调用，实现类须保证线程安全；
+ * 入参数组仅供读取，不可修改。
+ * </p>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public interface WorkerChooser {
+
+    /**
+     * 选择读Worker
+     *
+     * @param workers 所有读Worker的运行统计
+     * @return 被选中Worker在数组中的下标
+     */
+    int choose(WorkerStatistics[] workers);
+
+    /**
+     * 轮询分配，默认策略
+     */
+    static WorkerChooser roundRobin() {
+        AtomicInteger index = new AtomicInteger();
+        return workers -> (index.getAndIncrement() & Integer.MAX_VALUE) % workers.length;
+    }
+
+    /**
+     * 分配给当前连接数最少的Worker，适用于长连接且各连接负载相近的场景
+     */
+    static WorkerChooser leastConnections() {
+        return workers -> {
+            int index = 0;
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < workers.length; i++) {
+                int count = workers[i].connectionCount();
+                if (count < min) {
+                    min = count;
+                    index = i;
+                }
+            }
+            return index;
+        };
+    }
+
+    /**
+     * 分配给近期负载最低的Worker，负载以按时间衰减的事件处理数衡量，
+     * 适用于连接间流量差异较大、少量重度连接易导致个别线程饱和的场景。
+     * 负载尚未结算期间新分配的连接按平均负载计入，负载相同时选择连接数较少的Worker
+     *
+     * @see WorkerStatistics#recentLoad()
+     */
+    static WorkerChooser leastRecentLoad() {
+        return new LeastRecentLoadChooser();
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: WorkerScheduledTask.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+import java.util.function.Consumer;
+
+/**
+ * Worker内部的定时任务实现。
+ * <p>
+ * 任务仅由所属Worker线程入队与执行；取消时标记后通知所属Worker，由Worker批量移出队列。
+ * </p>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+final class WorkerScheduledTask implements ScheduledTask, Comparable<WorkerScheduledTask> {
+    /**
+     * 到期时间，基于System.nanoTime()
+     */
+    final long deadline;
+    /**
+     * 入队序号，到期时间相同时按提交顺序执行，由Worker线程赋值
+     */
+    long sequence;
+    private final Runnable task;
+    /**
+     * 任务取消的通知回调
+     */
+    private final Consumer<WorkerScheduledTask> cancelCallback;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+
+    WorkerScheduledTask(Runnable task, long deadline, Consumer<WorkerScheduledTask> cancelCallback) {
+        this.task = task;
+        this.deadline = deadline;
+        this.cancelCallback = cancelCallback;
+    }
+
+    void run() {
+        if (cancelled) {
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            done = true;
+        }
+    }
+
+    @Override
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void cancel() {
+        if (!done && !cancelled) {
+            cancelled = true;
+            cancelCallback.accept(this);
+        }
+    }
+
+    @Override
+    public int compareTo(WorkerScheduledTask o) {
+        long d = deadline - o.deadline;
+        if (d != 0) {
+            return d < 0 ? -1 : 1;
+        }
+        return Long.compare(sequence, o.sequence);
+    }
+}
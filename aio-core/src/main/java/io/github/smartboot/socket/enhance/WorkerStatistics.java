@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: WorkerStatistics.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.enhance;
+
+/**
+ * 事件循环(Worker)运行统计，只读视图。
+ * <p>
+ * 计数器由Worker线程独占更新，其他线程读取到的是近似值，仅用于监控与调优。
+ * </p>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public interface WorkerStatistics {
+
+    /**
+     * Worker名称，如 read-0、write-0、common
+     */
+    String name();
+
+    /**
+     * 执行selectNow()忙等的次数
+     */
+    long spinCount();
+
+    /**
+     * park后再selectNow()的次数
+     */
+    long parkCount();
+
+    /**
+     * 阻塞在select()的次数
+     */
+    long blockCount();
+
+    /**
+     * 其他线程提交注册或者变更interestOps而请求唤醒Selector的次数
+     */
+    long wakeupRequestCount();
+
+    /**
+     * 合并后实际执行selector.wakeup()的次数
+     */
+    long wakeupCount();
+
+    /**
+     * 当前归属该Worker的连接数，仅读Worker有效
+     */
+    int connectionCount();
+
+    /**
+     * 累计处理的IO事件数
+     */
+    long eventCount();
+
+    /**
+     * 近期负载，即按时间衰减(半衰期1秒)后的IO事件处理数
+     */
+    double recentLoad();
+
+    /**
+     * 因检测到空轮询(select无事件却连续过早返回)而重建Selector的次数
+     */
+    long rebuildCount();
+
+    /**
+     * 是否启用了事件循环指标，未启用时以下指标均为0
+     *
+     * @see EnhanceAsynchronousChannelProvider#enableMetrics()
+     */
+    boolean metricsEnabled();
+
+    /**
+     * 推测性直接读取(未经Selector通知)读到数据的次数，仅读Worker有效
+     */
+    long directReadHitCount();
+
+    /**
+     * 推测性直接读取返回0字节的次数，即浪费的read系统调用，仅读Worker有效
+     */
+    long directReadMissCount();
+
+    /**
+     * 事件循环次数，以select返回为一轮
+     */
+    long loopCount();
+
+    /**
+     * 累计耗费在select(含spin/park)上的纳秒数
+     */
+    long selectNanos();
+
+    /**
+     * 累计耗费在处理IO事件与任务上的纳秒数。
+     * 与{@link #selectNanos()}的占比反映了Worker的繁忙程度，接近100%即表示已饱和
+     */
+    long processNanos();
+
+    /**
+     * 当前任务队列中待执行的任务数，含通道注册及execute/schedule提交的任务
+     */
+    int taskQueueDepth();
+
+    /**
+     * 任务队列的最大深度
+     */
+    int maxTaskQueueDepth();
+
+    /**
+     * 单轮循环处理的最大就绪key数
+     */
+    int maxKeysPerLoop();
+
+    /**
+     * 单次IO事件回调或任务的最大耗时纳秒数，较大时说明存在阻塞的业务处理
+     */
+    long maxCallbackNanos();
+
+    /**
+     * 单轮循环处理阶段的最大耗时纳秒数，即新提交任务可能等待的最长时间(loop lag)
+     */
+    long maxLoopNanos();
+
+    /**
+     * 请求重置各项最大值，Worker将在下一轮循环开始时执行，
+     * 监控程序可在每个采集周期读取最大值后调用
+     */
+    void resetMaxValues();
+}
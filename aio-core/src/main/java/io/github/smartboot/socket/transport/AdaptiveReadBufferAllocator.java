@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: AdaptiveReadBufferAllocator.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 根据近期的读取量自适应调整会话读缓冲区的大小。
+ * <p>
+ * 连续两次读取量均不足较小一档的容量时缩容一档，读取量填满当前缓冲区时扩容四档，
+ * 使收发小消息的连接占用更少内存，批量传输的连接减少read次数。
+ * 缓冲区容量取自固定的档位表，便于内存池复用相同规格的缓冲区。
+ * </p>
+ * 每个会话持有一个实例，仅在会话的读回调中访问，无需同步。
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+final class AdaptiveReadBufferAllocator {
+    /**
+     * 扩容时跨越的档位数
+     */
+    private static final int INDEX_INCREMENT = 4;
+    /**
+     * 缩容时跨越的档位数
+     */
+    private static final int INDEX_DECREMENT = 1;
+    /**
+     * 容量档位表：512字节以内以16递增，之后成倍递增
+     */
+    private static final int[] SIZE_TABLE;
+
+    static {
+        List<Integer> sizeTable = new ArrayList<>();
+        for (int i = 16; i < 512; i += 16) {
+            sizeTable.add(i);
+        }
+        for (int i = 512; i > 0; i <<= 1) {
+            sizeTable.add(i);
+        }
+        SIZE_TABLE = new int[sizeTable.size()];
+        for (int i = 0; i < SIZE_TABLE.length; i++) {
+            SIZE_TABLE[i] = sizeTable.get(i);
+        }
+    }
+
+    private final int minIndex;
+    private final int maxIndex;
+    private int index;
+    private int nextReceiveBufferSize;
+    private boolean decreaseNow;
+
+    /**
+     * @param minimum 读缓冲区最小容量
+     * @param initial 读缓冲区初始容量
+     * @param maximum 读缓冲区最大容量
+     */
+    AdaptiveReadBufferAllocator(int minimum, int initial, int maximum) {
+        int minIndex = getSizeTableIndex(minimum);
+        //档位不得低于minimum
+        this.minIndex = SIZE_TABLE[minIndex] < minimum ? minIndex + 1 : minIndex;
+        int maxIndex = getSizeTableIndex(maximum);
+        //档位不得高于maximum
+        this.maxIndex = Math.max(this.minIndex, SIZE_TABLE[maxIndex] > maximum ? maxIndex - 1 : maxIndex);
+        this.index = Math.max(this.minIndex, Math.min(getSizeTableIndex(initial), this.maxIndex));
+        this.nextReceiveBufferSize = SIZE_TABLE[index];
+    }
+
+    /**
+     * 二分查找容量最接近size的档位
+     */
+    private static int getSizeTableIndex(int size) {
+        for (int low = 0, high = SIZE_TABLE.length - 1; ; ) {
+            if (high < low) {
+                return low;
+            }
+            if (high == low) {
+                return high;
+            }
+            int mid = low + high >>> 1;
+            int a = SIZE_TABLE[mid];
+            int b = SIZE_TABLE[mid + 1];
+            if (size > b) {
+                low = mid + 1;
+            } else if (size < a) {
+                high = mid - 1;
+            } else if (size == a) {
+                return mid;
+            } else {
+                return mid + 1;
+            }
+        }
+    }
+
+    /**
+     * @return 下一次读操作建议的缓冲区容量
+     */
+    int size() {
+        return nextReceiveBufferSize;
+    }
+
+    /**
+     * 读缓冲区已满仍无法解码出完整消息时扩容
+     *
+     * @param capacity 当前缓冲区容量
+     * @return 扩容后的容量，已达上限时返回当前容量
+     */
+    int expand(int capacity) {
+        while (index < maxIndex && SIZE_TABLE[index] <= capacity) {
+            index = Math.min(index + INDEX_INCREMENT, maxIndex);
+        }
+        nextReceiveBufferSize = SIZE_TABLE[index];
+        decreaseNow = false;
+        return Math.max(capacity, nextReceiveBufferSize);
+    }
+
+    /**
+     * 记录本次读取的字节数，据此调整后续缓冲区容量
+     *
+     * @param actualReadBytes 本次读取的字节数
+     */
+    void record(int actualReadBytes) {
+        if (actualReadBytes <= SIZE_TABLE[Math.max(0, index - INDEX_DECREMENT)]) {
+            if (decreaseNow) {
+                index = Math.max(index - INDEX_DECREMENT, minIndex);
+                nextReceiveBufferSize = SIZE_TABLE[index];
+                decreaseNow = false;
+            } else {
+                decreaseNow = true;
+            }
+        } else if (actualReadBytes >= nextReceiveBufferSize) {
+            index = Math.min(index + INDEX_INCREMENT, maxIndex);
+            nextReceiveBufferSize = SIZE_TABLE[index];
+            decreaseNow = false;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.net.SocketOption;
 import java.nio.channels.AsynchronousChannelGroup;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.security.InvalidParameterException;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
@@ -165,7 +166,7 @@ public final class AioQuickClient {
                         throw new RuntimeException("NetMonitor refuse channel");
                     }
                     //连接成功则构造AIOSession对象
-                    session = new TcpAioSession(connectedChannel, config, writeBufferPool, () -> readBufferPool.allocatePage().allocate(config.getReadBufferSize()));
+                    session = new TcpAioSession(connectedChannel, config, writeBufferPool, size -> readBufferPool.allocatePage().allocate(size));
                     handler.completed(session, attachment);
                 } catch (Exception e) {
                     failed(e, socketChannel);
@@ -295,6 +296,126 @@ public final class AioQuickClient {
         return this;
     }
 
+    /**
+     * 设置单个消息允许的最大字节数。
+     * <p>
+     * 默认情况下读缓冲区已满仍无法解码出完整消息时会关闭连接。设置该值后，连接会临时切换至更大的池化缓冲区，
+     * 按倍数扩容直至maxFrameSize，消息处理完毕后再恢复为readBufferSize，偶发的大消息无需为所有连接按最大消息预留读缓冲区。
+     * </p>
+     *
+     * @param maxFrameSize 单位：byte，需大于readBufferSize方可生效
+     * @return 当前AIOQuickClient对象
+     */
+    public AioQuickClient setMaxFrameSize(int maxFrameSize) {
+        if (maxFrameSize <= 0) {
+            throw new InvalidParameterException("maxFrameSize must > 0");
+        }
+        this.config.setMaxFrameSize(maxFrameSize);
+        return this;
+    }
+
+    /**
+     * 设置读超时时间。
+     * <p>
+     * 连接处于读监听状态超过该时长仍未收到数据时触发{@link io.github.smartboot.socket.StateMachineEnum#INPUT_EXCEPTION}
+     * (异常类型为InterruptedByTimeoutException)并关闭连接，及时释放长期空闲或恶意慢速连接占用的缓冲区。
+     * 超时由读Worker在事件循环中检测，精度约100毫秒。
+     * </p>
+     *
+     * @param timeout 单位：毫秒
+     * @return 当前AIOQuickClient对象
+     */
+    public AioQuickClient setReadTimeout(int timeout) {
+        if (timeout <= 0) {
+            throw new InvalidParameterException("timeout must > 0");
+        }
+        this.config.setReadTimeout(timeout);
+        return this;
+    }
+
+    /**
+     * 设置写超时时间。
+     * <p>
+     * 半包数据等待输出超过该时长时触发{@link io.github.smartboot.socket.StateMachineEnum#OUTPUT_EXCEPTION}
+     * (异常类型为InterruptedByTimeoutException)并关闭连接，避免对端长期不读取导致输出缓冲区堆积。
+     * 超时由写Worker在事件循环中检测，精度约100毫秒。
+     * </p>
+     *
+     * @param timeout 单位：毫秒
+     * @return 当前AIOQuickClient对象
+     */
+    public AioQuickClient setWriteTimeout(int timeout) {
+        if (timeout <= 0) {
+            throw new InvalidParameterException("timeout must > 0");
+        }
+        this.config.setWriteTimeout(timeout);
+        return this;
+    }
+
+    /**
+     * 设置写水位线。
+     * <p>
+     * 对端读取缓慢导致会话待输出数据超过高水位线时，会话变为不可写并暂停读取，
+     * 同时触发{@link io.github.smartboot.socket.StateMachineEnum#WRITABILITY_CHANGED}；
+     * 回落至低水位线时恢复可写并继续读取。启用后写缓冲队列满时自动扩容，输出数据的线程(包括IO线程)不再阻塞等待。
+     * </p>
+     * <p>
+     * 水位线仅用于通知，并不拒绝写入：业务无视不可写状态持续写入时，写缓冲区将无限增长直至内存耗尽。
+     * 需要限制单个会话的内存占用时，应同时通过{@link #setWriteBufferLimit(int)}设置字节上限。
+     * </p>
+     *
+     * @param low  低水位线，单位：byte
+     * @param high 高水位线，单位：byte
+     * @return 当前AIOQuickClient对象
+     */
+    public AioQuickClient setWriteWaterMark(int low, int high) {
+        if (low < 0 || high <= low) {
+            throw new InvalidParameterException("invalid water mark, low: " + low + " ,high: " + high);
+        }
+        this.config.setWriteWaterMark(low, high);
+        return this;
+    }
+
+    /**
+     * 启用非阻塞写模式，限制单个会话待输出数据的字节数。
+     * <p>
+     * 写缓冲队列满时不再阻塞输出数据的线程，而是在该字节上限内扩容；写入后超出上限的数据将被拒绝，
+     * 写操作抛出{@link java.nio.BufferOverflowException}，已写入的数据不受影响。
+     * 触及上限时会话变为不可写并暂停读取，同时触发{@link io.github.smartboot.socket.StateMachineEnum#WRITABILITY_CHANGED}，
+     * 业务可据此暂停推送，待恢复可写后继续。未设置写水位线时，待输出数据回落至上限的一半恢复可写。
+     * 文件传输不占用写缓冲区，不受该上限约束，但其字节数计入待输出数据。
+     * </p>
+     *
+     * @param limit 待输出数据的字节上限，单位：byte
+     * @return 当前AIOQuickClient对象
+     */
+    public AioQuickClient setWriteBufferLimit(int limit) {
+        if (limit <= 0) {
+            throw new InvalidParameterException("invalid write buffer limit: " + limit);
+        }
+        this.config.setWriteBufferLimit(limit);
+        return this;
+    }
+
+    /**
+     * 启用读缓冲区自适应模式。
+     * <p>
+     * 以readBufferSize为初始容量，根据每个连接近期的读取量在[minimum, maximum]区间内扩缩容，
+     * 扩缩容时保留尚未解码的数据。适用于大小消息混杂的场景，无需按最大消息为所有连接预留读缓冲区。
+     * </p>
+     *
+     * @param minimum 读缓冲区最小容量，单位：byte
+     * @param maximum 读缓冲区最大容量，单位：byte
+     * @return 当前AIOQuickClient对象
+     */
+    public AioQuickClient adaptiveReadBuffer(int minimum, int maximum) {
+        if (minimum <= 0 || maximum < minimum) {
+            throw new InvalidParameterException("invalid adaptive read buffer range [" + minimum + ", " + maximum + "]");
+        }
+        this.config.enableAdaptiveReadBuffer(minimum, maximum);
+        return this;
+    }
+
     /**
      * 设置Socket的TCP参数配置
      * <p>
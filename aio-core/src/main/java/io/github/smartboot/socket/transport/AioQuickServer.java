@@ -15,6 +15,9 @@ import io.github.smartboot.socket.StateMachineEnum;
 import io.github.smartboot.socket.buffer.BufferPagePool;
 import io.github.smartboot.socket.buffer.VirtualBuffer;
 import io.github.smartboot.socket.enhance.EnhanceAsynchronousChannelProvider;
+import io.github.smartboot.socket.enhance.SelectStrategy;
+import io.github.smartboot.socket.enhance.WorkerChooser;
+import io.github.smartboot.socket.enhance.WorkerStatistics;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -25,8 +28,10 @@ import java.nio.channels.AsynchronousServerSocketChannel;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
 import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
+import java.util.function.IntFunction;
 
 /**
  * AIO服务端。
@@ -49,9 +54,9 @@ import java.util.function.Supplier;
 public final class AioQuickServer {
 
     /**
-     * asynchronousServerSocketChannel
+     * asynchronousServerSocketChannel，SO_REUSEPORT模式下每个读线程各持有一个
      */
-    private AsynchronousServerSocketChannel serverSocketChannel = null;
+    private AsynchronousServerSocketChannel[] serverSocketChannels = null;
     /**
      * asynchronousChannelGroup
      */
@@ -104,7 +109,17 @@ public final class AioQuickServer {
      * @throws IOException IO异常
      */
     public void start() throws IOException {
-        asynchronousChannelGroup = new EnhanceAsynchronousChannelProvider().openAsynchronousChannelGroup(config.getThreadNum(), r -> new Thread(r, "smart-socket:Thread-" + (threadSeqNumber++)));
+        EnhanceAsynchronousChannelProvider provider = new EnhanceAsynchronousChannelProvider().setWriteThreadNum(config.getWriteThreadNum()).setSelectStrategy(config.getSelectStrategy());
+        if (config.isOptimizeSelectedKeys()) {
+            provider.optimizeSelectedKeys();
+        }
+        if (config.getReadWorkerChooser() != null) {
+            provider.setReadWorkerChooser(config.getReadWorkerChooser());
+        }
+        if (config.isEventLoopMetrics()) {
+            provider.enableMetrics();
+        }
+        asynchronousChannelGroup = provider.openAsynchronousChannelGroup(config.getThreadNum(), r -> new Thread(r, "smart-socket:Thread-" + (threadSeqNumber++)));
         start(asynchronousChannelGroup);
     }
 
@@ -129,29 +144,57 @@ public final class AioQuickServer {
                 this.readBufferPool = BufferPagePool.DEFAULT_BUFFER_PAGE_POOL;
             }
 
-            this.serverSocketChannel = AsynchronousServerSocketChannel.open(asynchronousChannelGroup);
-            //set socket options
-            if (config.getSocketOptions() != null) {
-                for (Map.Entry<SocketOption<Object>, Object> entry : config.getSocketOptions().entrySet()) {
-                    this.serverSocketChannel.setOption(entry.getKey(), entry.getValue());
+            this.serverSocketChannels = openServerSocketChannels(asynchronousChannelGroup);
+            for (AsynchronousServerSocketChannel serverSocketChannel : serverSocketChannels) {
+                //set socket options
+                if (config.getSocketOptions() != null) {
+                    for (Map.Entry<SocketOption<Object>, Object> entry : config.getSocketOptions().entrySet()) {
+                        serverSocketChannel.setOption(entry.getKey(), entry.getValue());
+                    }
+                }
+                //bind host
+                if (config.getHost() != null) {
+                    serverSocketChannel.bind(new InetSocketAddress(config.getHost(), config.getPort()), config.getBacklog());
+                } else {
+                    serverSocketChannel.bind(new InetSocketAddress(config.getPort()), config.getBacklog());
                 }
-            }
-            //bind host
-            if (config.getHost() != null) {
-                serverSocketChannel.bind(new InetSocketAddress(config.getHost(), config.getPort()), config.getBacklog());
-            } else {
-                serverSocketChannel.bind(new InetSocketAddress(config.getPort()), config.getBacklog());
             }
 
-            startAcceptThread();
+            for (AsynchronousServerSocketChannel serverSocketChannel : serverSocketChannels) {
+                startAcceptThread(serverSocketChannel);
+            }
         } catch (IOException e) {
             shutdown();
             throw e;
         }
     }
 
-    private void startAcceptThread() {
-        Supplier<VirtualBuffer> readBufferSupplier = () -> readBufferPool.allocatePage().allocate(config.getReadBufferSize());
+    /**
+     * 创建服务端监听通道。
+     * 启用SO_REUSEPORT且运行环境支持时，为每个读线程各创建一个监听通道，否则只创建一个由通用线程负责accept的通道
+     */
+    private AsynchronousServerSocketChannel[] openServerSocketChannels(AsynchronousChannelGroup asynchronousChannelGroup) throws IOException {
+        if (config.isReusePort()) {
+            SocketOption<Boolean> reusePort = IOUtil.reusePortOption();
+            if (reusePort != null && asynchronousChannelGroup.provider() instanceof EnhanceAsynchronousChannelProvider) {
+                AsynchronousServerSocketChannel[] channels = ((EnhanceAsynchronousChannelProvider) asynchronousChannelGroup.provider()).openAsynchronousServerSocketChannels(asynchronousChannelGroup);
+                if (channels[0].supportedOptions().contains(reusePort)) {
+                    for (AsynchronousServerSocketChannel channel : channels) {
+                        channel.setOption(reusePort, true);
+                    }
+                    return channels;
+                }
+                for (AsynchronousServerSocketChannel channel : channels) {
+                    channel.close();
+                }
+            }
+            System.err.println("SO_REUSEPORT is not supported, fallback to single acceptor");
+        }
+        return new AsynchronousServerSocketChannel[]{AsynchronousServerSocketChannel.open(asynchronousChannelGroup)};
+    }
+
+    private void startAcceptThread(AsynchronousServerSocketChannel serverSocketChannel) {
+        IntFunction<VirtualBuffer> readBufferAllocator = size -> readBufferPool.allocatePage().allocate(size);
         serverSocketChannel.accept(null, new CompletionHandler<AsynchronousSocketChannel, Void>() {
             @Override
             public void completed(AsynchronousSocketChannel channel, Void attachment) {
@@ -162,7 +205,7 @@ public final class AioQuickServer {
                     failed(throwable, attachment);
                     serverSocketChannel.accept(attachment, this);
                 } finally {
-                    createSession(channel, readBufferSupplier);
+                    createSession(channel, readBufferAllocator);
                 }
             }
 
@@ -178,13 +221,13 @@ public final class AioQuickServer {
      *
      * @param channel 当前已建立连接通道
      */
-    private void createSession(AsynchronousSocketChannel channel, Supplier<VirtualBuffer> readBufferSupplier) {
+    private void createSession(AsynchronousSocketChannel channel, IntFunction<VirtualBuffer> readBufferAllocator) {
         //连接成功则构造AIOSession对象
         try {
             AsynchronousSocketChannel acceptChannel = config.getPlugin().shouldAccept(channel);
             if (acceptChannel != null) {
                 acceptChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
-                new TcpAioSession(acceptChannel, this.config, writeBufferPool, readBufferSupplier);
+                new TcpAioSession(acceptChannel, this.config, writeBufferPool, readBufferAllocator);
             } else {
                 config.getProcessor().stateEvent(null, StateMachineEnum.REJECT_ACCEPT, null);
                 IOUtil.close(channel);
@@ -199,13 +242,17 @@ public final class AioQuickServer {
      * 停止服务端
      */
     public void shutdown() {
-        try {
-            if (serverSocketChannel != null) {
-                serverSocketChannel.close();
-                serverSocketChannel = null;
+        if (serverSocketChannels != null) {
+            for (AsynchronousServerSocketChannel serverSocketChannel : serverSocketChannels) {
+                try {
+                    if (serverSocketChannel != null) {
+                        serverSocketChannel.close();
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+            serverSocketChannels = null;
         }
 
         if (asynchronousChannelGroup != null) {
@@ -224,6 +271,126 @@ public final class AioQuickServer {
         return this;
     }
 
+    /**
+     * 设置单个消息允许的最大字节数。
+     * <p>
+     * 默认情况下读缓冲区已满仍无法解码出完整消息时会关闭连接。设置该值后，连接会临时切换至更大的池化缓冲区，
+     * 按倍数扩容直至maxFrameSize，消息处理完毕后再恢复为readBufferSize，偶发的大消息无需为所有连接按最大消息预留读缓冲区。
+     * </p>
+     *
+     * @param maxFrameSize 单位：byte，需大于readBufferSize方可生效
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer setMaxFrameSize(int maxFrameSize) {
+        if (maxFrameSize <= 0) {
+            throw new InvalidParameterException("maxFrameSize must > 0");
+        }
+        this.config.setMaxFrameSize(maxFrameSize);
+        return this;
+    }
+
+    /**
+     * 设置读超时时间。
+     * <p>
+     * 连接处于读监听状态超过该时长仍未收到数据时触发{@link io.github.smartboot.socket.StateMachineEnum#INPUT_EXCEPTION}
+     * (异常类型为InterruptedByTimeoutException)并关闭连接，及时释放长期空闲或恶意慢速连接占用的缓冲区。
+     * 超时由读Worker在事件循环中检测，精度约100毫秒。
+     * </p>
+     *
+     * @param timeout 单位：毫秒
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer setReadTimeout(int timeout) {
+        if (timeout <= 0) {
+            throw new InvalidParameterException("timeout must > 0");
+        }
+        this.config.setReadTimeout(timeout);
+        return this;
+    }
+
+    /**
+     * 设置写超时时间。
+     * <p>
+     * 半包数据等待输出超过该时长时触发{@link io.github.smartboot.socket.StateMachineEnum#OUTPUT_EXCEPTION}
+     * (异常类型为InterruptedByTimeoutException)并关闭连接，避免对端长期不读取导致输出缓冲区堆积。
+     * 超时由写Worker在事件循环中检测，精度约100毫秒。
+     * </p>
+     *
+     * @param timeout 单位：毫秒
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer setWriteTimeout(int timeout) {
+        if (timeout <= 0) {
+            throw new InvalidParameterException("timeout must > 0");
+        }
+        this.config.setWriteTimeout(timeout);
+        return this;
+    }
+
+    /**
+     * 设置写水位线。
+     * <p>
+     * 对端读取缓慢导致会话待输出数据超过高水位线时，会话变为不可写并暂停读取，
+     * 同时触发{@link io.github.smartboot.socket.StateMachineEnum#WRITABILITY_CHANGED}；
+     * 回落至低水位线时恢复可写并继续读取。启用后写缓冲队列满时自动扩容，输出数据的线程(包括IO线程)不再阻塞等待。
+     * </p>
+     * <p>
+     * 水位线仅用于通知，并不拒绝写入：业务无视不可写状态持续写入时，写缓冲区将无限增长直至内存耗尽。
+     * 需要限制单个会话的内存占用时，应同时通过{@link #setWriteBufferLimit(int)}设置字节上限。
+     * </p>
+     *
+     * @param low  低水位线，单位：byte
+     * @param high 高水位线，单位：byte
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer setWriteWaterMark(int low, int high) {
+        if (low < 0 || high <= low) {
+            throw new InvalidParameterException("invalid water mark, low: " + low + " ,high: " + high);
+        }
+        this.config.setWriteWaterMark(low, high);
+        return this;
+    }
+
+    /**
+     * 启用非阻塞写模式，限制单个会话待输出数据的字节数。
+     * <p>
+     * 写缓冲队列满时不再阻塞输出数据的线程，而是在该字节上限内扩容；写入后超出上限的数据将被拒绝，
+     * 写操作抛出{@link java.nio.BufferOverflowException}，已写入的数据不受影响。
+     * 触及上限时会话变为不可写并暂停读取，同时触发{@link io.github.smartboot.socket.StateMachineEnum#WRITABILITY_CHANGED}，
+     * 业务可据此暂停推送，待恢复可写后继续。未设置写水位线时，待输出数据回落至上限的一半恢复可写。
+     * 文件传输不占用写缓冲区，不受该上限约束，但其字节数计入待输出数据。
+     * </p>
+     *
+     * @param limit 待输出数据的字节上限，单位：byte
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer setWriteBufferLimit(int limit) {
+        if (limit <= 0) {
+            throw new InvalidParameterException("invalid write buffer limit: " + limit);
+        }
+        this.config.setWriteBufferLimit(limit);
+        return this;
+    }
+
+    /**
+     * 启用读缓冲区自适应模式。
+     * <p>
+     * 以readBufferSize为初始容量，根据每个连接近期的读取量在[minimum, maximum]区间内扩缩容，
+     * 扩缩容时保留尚未解码的数据。适用于大小消息混杂的场景，无需按最大消息为所有连接预留读缓冲区。
+     * </p>
+     *
+     * @param minimum 读缓冲区最小容量，单位：byte
+     * @param maximum 读缓冲区最大容量，单位：byte
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer adaptiveReadBuffer(int minimum, int maximum) {
+        if (minimum <= 0 || maximum < minimum) {
+            throw new InvalidParameterException("invalid adaptive read buffer range [" + minimum + ", " + maximum + "]");
+        }
+        this.config.enableAdaptiveReadBuffer(minimum, maximum);
+        return this;
+    }
+
     /**
      * 是否启用控制台Banner打印
      *
@@ -267,6 +434,24 @@ public final class AioQuickServer {
         return this;
     }
 
+    /**
+     * 设置写事件处理线程数，默认为1。
+     * <p>
+     * 连接出现半包写时，会由写线程监听OP_WRITE事件并继续输出剩余数据。
+     * 在大量连接持续推送（如广播）的场景下，单个写线程可能成为瓶颈，此时可按CPU核数适当调大。
+     * </p>
+     *
+     * @param writeThreadNum 写线程数
+     * @return 当前AioQuickServer对象
+     */
+    public final AioQuickServer setWriteThreadNum(int writeThreadNum) {
+        if (writeThreadNum <= 0) {
+            throw new InvalidParameterException("writeThreadNum must > 0");
+        }
+        config.setWriteThreadNum(writeThreadNum);
+        return this;
+    }
+
 
     /**
      * 设置输出缓冲区容量
@@ -334,4 +519,98 @@ public final class AioQuickServer {
         config.enableRetainReadBuffer();
         return this;
     }
+
+    /**
+     * 启用selectedKeys优化。
+     * <p>
+     * 事件循环将使用数组实现的已就绪key集合代替JDK默认的HashSet，
+     * 减少每轮select后的哈希计算与对象分配，适用于单线程每秒处理数十万事件的高负载场景。
+     * 若运行环境禁止反射访问sun.nio.ch，则自动降级为默认实现。
+     * </p>
+     *
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer optimizeSelectedKeys() {
+        config.enableOptimizeSelectedKeys();
+        return this;
+    }
+
+    /**
+     * 设置读线程的select策略，默认始终阻塞在select()。
+     * <p>
+     * 延迟敏感的服务可采用{@link SelectStrategy#spinThenPark(int, int, long)}，
+     * 空闲时先忙等若干轮再park，最后才阻塞，以CPU开销换取更低的尾延迟。
+     * </p>
+     *
+     * @param selectStrategy select策略
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer setSelectStrategy(SelectStrategy selectStrategy) {
+        if (selectStrategy == null) {
+            throw new InvalidParameterException("selectStrategy is null");
+        }
+        config.setSelectStrategy(selectStrategy);
+        return this;
+    }
+
+    /**
+     * 设置新连接的读线程分配策略，默认为轮询。
+     * <p>
+     * 长连接且流量不均的场景下，轮询容易让重度连接堆积在少数线程上，
+     * 此时可选用{@link WorkerChooser#leastConnections()}或{@link WorkerChooser#leastRecentLoad()}。
+     * </p>
+     *
+     * @param readWorkerChooser 读线程选择器
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer setReadWorkerChooser(WorkerChooser readWorkerChooser) {
+        if (readWorkerChooser == null) {
+            throw new InvalidParameterException("readWorkerChooser is null");
+        }
+        config.setReadWorkerChooser(readWorkerChooser);
+        return this;
+    }
+
+    /**
+     * 启用SO_REUSEPORT多监听模式。
+     * <p>
+     * 为每个读线程各创建一个绑定同一端口的监听socket，由内核将新连接均衡分发至各读线程，
+     * accept与后续读写均在同一线程完成，适用于大量客户端集中重连的连接风暴场景。
+     * 该模式下新连接固定由接收它的读线程处理，{@link #setReadWorkerChooser(WorkerChooser)}不再生效。
+     * 需要JDK9+及操作系统支持(如Linux 3.9+)，否则自动降级为单个监听socket。
+     * </p>
+     *
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer reusePort() {
+        config.enableReusePort();
+        return this;
+    }
+
+    /**
+     * 启用事件循环指标采集。
+     * <p>
+     * 启用后可通过{@link #getWorkerStatistics()}观察各线程select与处理耗时占比、任务队列深度、最大回调耗时等，
+     * 用以判断线程是否饱和。未启用时不产生额外开销。
+     * </p>
+     *
+     * @return 当前AioQuickServer对象
+     */
+    public AioQuickServer enableEventLoopMetrics() {
+        config.enableEventLoopMetrics();
+        return this;
+    }
+
+    /**
+     * 获取服务端各事件循环线程的运行统计，包括spin/park/block次数、连接数分布及近期负载。
+     * 服务未通过{@link #start()}启动时返回空列表。
+     *
+     * @return Worker运行统计
+     */
+    public List<WorkerStatistics> getWorkerStatistics() {
+        if (asynchronousChannelGroup == null) {
+            return Collections.emptyList();
+        }
+        return EnhanceAsynchronousChannelProvider.getWorkerStatistics(asynchronousChannelGroup);
+    }
 }
@@ -9,6 +9,9 @@
 
 package io.github.smartboot.socket.transport;
 
+import io.github.smartboot.socket.enhance.EnhanceChannel;
+import io.github.smartboot.socket.enhance.ScheduledTask;
+
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
@@ -155,4 +158,56 @@ public abstract class AioSession {
     public int read(long timeout, TimeUnit unit) throws IOException {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * 待输出数据是否低于写水位线，未启用写水位线及非阻塞写模式时总是返回true。
+     * <p>不可写期间会话暂停读取，业务可据此停止主动推送数据</p>
+     *
+     * @return 是否可写
+     * @see io.github.smartboot.socket.StateMachineEnum#WRITABILITY_CHANGED
+     */
+    public boolean isWritable() {
+        return true;
+    }
+
+    /**
+     * 在当前会话所属的IO线程中执行任务。
+     * <p>
+     * 业务线程完成异步处理后可借此切回IO线程输出数据，避免跨线程竞争WriteBuffer，
+     * 同一会话提交的任务按提交顺序执行。
+     * </p>
+     *
+     * @param task 待执行的任务，任务中不应执行阻塞操作
+     * @throws UnsupportedOperationException 底层通道不支持
+     * @see EnhanceChannel#execute(Runnable)
+     */
+    public void execute(Runnable task) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * 在当前会话所属的IO线程中延迟执行任务
+     *
+     * @param task  待执行的任务，任务中不应执行阻塞操作
+     * @param delay 延迟时长
+     * @param unit  时长单位
+     * @return 定时任务，可用于取消
+     * @throws UnsupportedOperationException 底层通道不支持
+     * @see EnhanceChannel#schedule(Runnable, long, TimeUnit)
+     */
+    public ScheduledTask schedule(Runnable task, long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * 注册当前会话所属的异步通道组关闭时执行的回调，通道组已关闭时立即执行。
+     * 适用于释放与通道组生命周期一致的资源，如业务线程池
+     *
+     * @param hook 关闭回调
+     * @throws UnsupportedOperationException 底层通道不支持
+     * @see EnhanceChannel#addShutdownHook(Runnable)
+     */
+    public void addShutdownHook(Runnable hook) {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: CompositeByteBuffer.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.transport;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.InvalidMarkException;
+import java.util.Arrays;
+
+/**
+ * 由多个ByteBuffer首尾相连组成的只读视图。
+ * <p>
+ * 当单个读缓冲区无法容纳一个完整消息时，会话会将后续数据通过分散读写入多个池化的缓冲区，
+ * {@link io.github.smartboot.socket.ScatteringProtocol}通过该视图像操作单个ByteBuffer一样完成解码，无需拷贝数据。
+ * </p>
+ * 每个ByteBuffer均处于读模式，读取操作会同步推进其position，多字节数值按大端序解析。
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public final class CompositeByteBuffer {
+    private ByteBuffer[] buffers;
+    /**
+     * 有效的ByteBuffer数量
+     */
+    private int size;
+    /**
+     * 当前正在读取的ByteBuffer下标
+     */
+    private int index;
+    /**
+     * mark时所处的ByteBuffer下标
+     */
+    private int markIndex = -1;
+    /**
+     * mark时所处ByteBuffer的position
+     */
+    private int markPosition;
+
+    CompositeByteBuffer(int capacity) {
+        this.buffers = new ByteBuffer[capacity];
+    }
+
+    /**
+     * 将单个ByteBuffer包装成视图，读取操作直接作用于该ByteBuffer
+     *
+     * @param buffer 处于读模式的ByteBuffer
+     * @return 视图对象
+     */
+    public static CompositeByteBuffer wrap(ByteBuffer buffer) {
+        CompositeByteBuffer compositeByteBuffer = new CompositeByteBuffer(1);
+        compositeByteBuffer.add(buffer);
+        return compositeByteBuffer;
+    }
+
+    /**
+     * @return 剩余可读字节数
+     */
+    public int remaining() {
+        int remaining = 0;
+        for (int i = index; i < size; i++) {
+            remaining += buffers[i].remaining();
+        }
+        return remaining;
+    }
+
+    public boolean hasRemaining() {
+        for (int i = index; i < size; i++) {
+            if (buffers[i].hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public byte get() {
+        return current(1).get();
+    }
+
+    public short getShort() {
+        ByteBuffer buffer = current(2);
+        if (buffer.remaining() >= 2) {
+            return buffer.getShort();
+        }
+        return (short) (((get() & 0xFF) << 8) | (get() & 0xFF));
+    }
+
+    public int getInt() {
+        ByteBuffer buffer = current(4);
+        if (buffer.remaining() >= 4) {
+            return buffer.getInt();
+        }
+        return ((get() & 0xFF) << 24) | ((get() & 0xFF) << 16) | ((get() & 0xFF) << 8) | (get() & 0xFF);
+    }
+
+    public long getLong() {
+        ByteBuffer buffer = current(8);
+        if (buffer.remaining() >= 8) {
+            return buffer.getLong();
+        }
+        return ((long) getInt() << 32) | (getInt() & 0xFFFFFFFFL);
+    }
+
+    public void get(byte[] dst) {
+        get(dst, 0, dst.length);
+    }
+
+    public void get(byte[] dst, int offset, int length) {
+        if (remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        while (length > 0) {
+            ByteBuffer buffer = current(1);
+            int n = Math.min(buffer.remaining(), length);
+            buffer.get(dst, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * 跳过指定长度的数据
+     *
+     * @param length 跳过的字节数
+     */
+    public void skip(int length) {
+        if (remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        while (length > 0) {
+            ByteBuffer buffer = current(1);
+            int n = Math.min(buffer.remaining(), length);
+            buffer.position(buffer.position() + n);
+            length -= n;
+        }
+    }
+
+    /**
+     * 标记当前读取位置，用于解码未完成时通过{@link #reset()}回退
+     */
+    public void mark() {
+        //跳过已读完的ByteBuffer，确保mark之后的ByteBuffer均未被读取过
+        while (index < size - 1 && !buffers[index].hasRemaining()) {
+            index++;
+        }
+        markIndex = index;
+        markPosition = buffers[index].position();
+    }
+
+    /**
+     * 回退至{@link #mark()}时的读取位置
+     */
+    public void reset() {
+        if (markIndex < 0) {
+            throw new InvalidMarkException();
+        }
+        //mark之后才开始读取的ByteBuffer，此前未被读取过，其数据均从0开始
+        for (int i = markIndex + 1; i <= index && i < size; i++) {
+            buffers[i].position(0);
+        }
+        buffers[markIndex].position(markPosition);
+        index = markIndex;
+    }
+
+    /**
+     * 定位至可读的ByteBuffer，并校验剩余数据是否满足本次读取
+     */
+    private ByteBuffer current(int length) {
+        while (index < size - 1 && !buffers[index].hasRemaining()) {
+            index++;
+        }
+        ByteBuffer buffer = buffers[index];
+        if (buffer.remaining() < length && remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        return buffer;
+    }
+
+    void add(ByteBuffer buffer) {
+        if (size == buffers.length) {
+            buffers = Arrays.copyOf(buffers, size << 1);
+        }
+        buffers[size++] = buffer;
+    }
+
+    /**
+     * 设置首个ByteBuffer，即会话当前的读缓冲区
+     */
+    void head(ByteBuffer buffer) {
+        if (size == 0) {
+            size = 1;
+        }
+        buffers[0] = buffer;
+        index = 0;
+        markIndex = -1;
+    }
+
+    ByteBuffer buffer(int i) {
+        return buffers[i];
+    }
+
+    /**
+     * 移除[from, to)区间的ByteBuffer
+     */
+    void remove(int from, int to) {
+        System.arraycopy(buffers, to, buffers, from, size - to);
+        int newSize = size - (to - from);
+        Arrays.fill(buffers, newSize, size, null);
+        size = newSize;
+        index = 0;
+        markIndex = -1;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: FileRegion.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.transport;
+
+import io.github.smartboot.socket.buffer.VirtualBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 待输出的文件区间。
+ * <p>
+ * 以一个空的占位缓冲区进入WriteBuffer的输出队列，保证与前后输出的数据保持顺序。
+ * 会话取到占位缓冲区后改为直接将文件区间输出至Socket，完成后再继续输出队列中的后续数据。
+ * </p>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+final class FileRegion {
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+    /**
+     * 输出队列中的占位缓冲区
+     */
+    final VirtualBuffer signal = VirtualBuffer.wrap(EMPTY_BUFFER);
+    final FileChannel channel;
+    /**
+     * 下一次输出的文件位置
+     */
+    long position;
+    /**
+     * 剩余待输出的字节数
+     */
+    long count;
+
+    FileRegion(FileChannel channel, long position, long count) {
+        this.channel = channel;
+        this.position = position;
+        this.count = count;
+    }
+}
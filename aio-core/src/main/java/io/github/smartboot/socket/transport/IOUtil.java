@@ -10,6 +10,8 @@
 package io.github.smartboot.socket.transport;
 
 import java.io.IOException;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.NotYetConnectedException;
 
@@ -41,4 +43,18 @@ final class IOUtil {
         }
     }
 
+    /**
+     * 获取SO_REUSEPORT选项，该选项自JDK9起提供
+     *
+     * @return JDK8环境下返回null
+     */
+    @SuppressWarnings("unchecked")
+    static SocketOption<Boolean> reusePortOption() {
+        try {
+            return (SocketOption<Boolean>) StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 }
@@ -12,6 +12,8 @@ package io.github.smartboot.socket.transport;
 import io.github.smartboot.socket.MessageProcessor;
 import io.github.smartboot.socket.Plugin;
 import io.github.smartboot.socket.Protocol;
+import io.github.smartboot.socket.enhance.SelectStrategy;
+import io.github.smartboot.socket.enhance.WorkerChooser;
 
 import java.net.SocketOption;
 import java.util.HashMap;
@@ -93,6 +95,81 @@ final class IoServerConfig {
      */
     private int threadNum = 1;
 
+    /**
+     * 写事件处理线程数
+     */
+    private int writeThreadNum = 1;
+
+    /**
+     * 是否启用selectedKeys优化
+     */
+    private boolean optimizeSelectedKeys = false;
+
+    /**
+     * 读Worker的select策略
+     */
+    private SelectStrategy selectStrategy = SelectStrategy.BLOCKING;
+
+    /**
+     * 读Worker选择器，为空时采用默认的轮询策略
+     */
+    private WorkerChooser readWorkerChooser;
+
+    /**
+     * 是否采集事件循环指标
+     */
+    private boolean eventLoopMetrics = false;
+
+    /**
+     * 是否启用SO_REUSEPORT多监听模式
+     */
+    private boolean reusePort = false;
+
+    /**
+     * 单个消息允许的最大字节数，读缓冲区不足以容纳一个完整消息时可临时扩容至该值，小于等于readBufferSize时不扩容
+     */
+    private int maxFrameSize = 0;
+
+    /**
+     * 是否根据近期读取量自适应调整读缓冲区大小
+     */
+    private boolean adaptiveReadBuffer = false;
+
+    /**
+     * 自适应模式下读缓冲区的最小容量
+     */
+    private int minReadBufferSize;
+
+    /**
+     * 自适应模式下读缓冲区的最大容量
+     */
+    private int maxReadBufferSize;
+
+    /**
+     * 读操作超时时间(毫秒)，连接在该时间内未收到任何数据将被关闭，0表示不超时
+     */
+    private long readTimeout = 0;
+
+    /**
+     * 写操作超时时间(毫秒)，半包数据在该时间内未能继续输出时连接将被关闭，0表示不超时
+     */
+    private long writeTimeout = 0;
+
+    /**
+     * 写低水位线(字节)，待输出数据回落至该值时恢复可写
+     */
+    private int writeLowWaterMark = 0;
+
+    /**
+     * 写高水位线(字节)，待输出数据超过该值时不可写并暂停读取，0表示不启用
+     */
+    private int writeHighWaterMark = 0;
+
+    /**
+     * 单个会话待输出数据的字节上限，超出时写操作快速失败，0表示不限制
+     */
+    private int writeBufferLimit = 0;
+
     /**
      * 是否保留读缓冲区（不禁用空闲时释放）
      */
@@ -217,6 +294,14 @@ final class IoServerConfig {
         this.threadNum = threadNum;
     }
 
+    public int getWriteThreadNum() {
+        return writeThreadNum;
+    }
+
+    public void setWriteThreadNum(int writeThreadNum) {
+        this.writeThreadNum = writeThreadNum;
+    }
+
     public int getBacklog() {
         return backlog;
     }
@@ -238,12 +323,126 @@ final class IoServerConfig {
         return retainReadBuffer;
     }
 
+    public void enableOptimizeSelectedKeys() {
+        this.optimizeSelectedKeys = true;
+    }
+
+    public boolean isOptimizeSelectedKeys() {
+        return optimizeSelectedKeys;
+    }
+
+    public SelectStrategy getSelectStrategy() {
+        return selectStrategy;
+    }
+
+    public void setSelectStrategy(SelectStrategy selectStrategy) {
+        this.selectStrategy = selectStrategy;
+    }
+
+    public WorkerChooser getReadWorkerChooser() {
+        return readWorkerChooser;
+    }
+
+    public void setReadWorkerChooser(WorkerChooser readWorkerChooser) {
+        this.readWorkerChooser = readWorkerChooser;
+    }
+
+    public void enableEventLoopMetrics() {
+        this.eventLoopMetrics = true;
+    }
+
+    public boolean isEventLoopMetrics() {
+        return eventLoopMetrics;
+    }
+
+    public void enableReusePort() {
+        this.reusePort = true;
+    }
+
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    public void setMaxFrameSize(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * 启用读缓冲区自适应模式，readBufferSize作为初始容量
+     *
+     * @param minReadBufferSize 最小容量
+     * @param maxReadBufferSize 最大容量
+     */
+    public void enableAdaptiveReadBuffer(int minReadBufferSize, int maxReadBufferSize) {
+        this.adaptiveReadBuffer = true;
+        this.minReadBufferSize = minReadBufferSize;
+        this.maxReadBufferSize = maxReadBufferSize;
+    }
+
+    public boolean isAdaptiveReadBuffer() {
+        return adaptiveReadBuffer;
+    }
+
+    public int getMinReadBufferSize() {
+        return minReadBufferSize;
+    }
+
+    public int getMaxReadBufferSize() {
+        return maxReadBufferSize;
+    }
+
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(long readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public long getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public void setWriteTimeout(long writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
+    public int getWriteLowWaterMark() {
+        return writeLowWaterMark;
+    }
+
+    public int getWriteHighWaterMark() {
+        return writeHighWaterMark;
+    }
+
+    public void setWriteWaterMark(int writeLowWaterMark, int writeHighWaterMark) {
+        this.writeLowWaterMark = writeLowWaterMark;
+        this.writeHighWaterMark = writeHighWaterMark;
+    }
+
+    public int getWriteBufferLimit() {
+        return writeBufferLimit;
+    }
+
+    public void setWriteBufferLimit(int writeBufferLimit) {
+        this.writeBufferLimit = writeBufferLimit;
+    }
+
     @Override
     public String toString() {
         return "IoServerConfig{" +
                 "readBufferSize=" + readBufferSize +
+                ", maxFrameSize=" + maxFrameSize +
+                ", readTimeout=" + readTimeout +
+                ", writeTimeout=" + writeTimeout +
                 ", writeChunkSize=" + writeChunkSize +
                 ", writeChunkCount=" + writeChunkCount +
+                ", writeWaterMark=" + writeLowWaterMark + "/" + writeHighWaterMark +
+                ", writeBufferLimit=" + writeBufferLimit +
                 ", host='" + host + '\'' +
                 ", plugin=" + plugin +
                 ", port=" + port +
@@ -253,6 +452,9 @@ final class IoServerConfig {
                 ", bannerEnabled=" + bannerEnabled +
                 ", socketOptions=" + socketOptions +
                 ", threadNum=" + threadNum +
+                ", writeThreadNum=" + writeThreadNum +
+                ", selectStrategy=" + selectStrategy +
+                ", readWorkerChooser=" + readWorkerChooser +
                 '}';
     }
 }
@@ -10,19 +10,28 @@
 package io.github.smartboot.socket.transport;
 
 
+import io.github.smartboot.socket.BatchMessageProcessor;
 import io.github.smartboot.socket.MessageProcessor;
+import io.github.smartboot.socket.ScatteringProtocol;
 import io.github.smartboot.socket.StateMachineEnum;
 import io.github.smartboot.socket.buffer.BufferPagePool;
 import io.github.smartboot.socket.buffer.VirtualBuffer;
 import io.github.smartboot.socket.enhance.EnhanceAsynchronousChannelProvider;
+import io.github.smartboot.socket.enhance.EnhanceChannel;
+import io.github.smartboot.socket.enhance.ScheduledTask;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.IntFunction;
 
 /**
  * AIO传输层会话。
@@ -110,34 +119,155 @@ final class TcpAioSession extends AioSession {
             }
         }
     };
+    /**
+     * 聚集写事件回调处理
+     */
+    private static final CompletionHandler<Long, TcpAioSession> GATHERING_WRITE_COMPLETION_HANDLER = new CompletionHandler<Long, TcpAioSession>() {
+        @Override
+        public void completed(Long result, TcpAioSession aioSession) {
+            WRITE_COMPLETION_HANDLER.completed((int) Math.min(result, Integer.MAX_VALUE), aioSession);
+        }
+
+        @Override
+        public void failed(Throwable exc, TcpAioSession aioSession) {
+            WRITE_COMPLETION_HANDLER.failed(exc, aioSession);
+        }
+    };
+    /**
+     * 因不可写而暂停读取的状态更新器
+     */
+    private static final AtomicIntegerFieldUpdater<TcpAioSession> READ_SUSPENDED_UPDATER = AtomicIntegerFieldUpdater.newUpdater(TcpAioSession.class, "readSuspended");
+    /**
+     * 文件零拷贝输出事件回调处理
+     */
+    private static final CompletionHandler<Long, TcpAioSession> TRANSFER_COMPLETION_HANDLER = new CompletionHandler<Long, TcpAioSession>() {
+        @Override
+        public void completed(Long result, TcpAioSession aioSession) {
+            try {
+                aioSession.transferCompleted(result);
+            } catch (Throwable throwable) {
+                failed(throwable, aioSession);
+            }
+        }
+
+        @Override
+        public void failed(Throwable exc, TcpAioSession aioSession) {
+            WRITE_COMPLETION_HANDLER.failed(exc, aioSession);
+        }
+    };
+    /**
+     * 分散读事件回调处理
+     */
+    private static final CompletionHandler<Long, TcpAioSession> SCATTERING_READ_COMPLETION_HANDLER = new CompletionHandler<Long, TcpAioSession>() {
+        @Override
+        public void completed(Long result, TcpAioSession aioSession) {
+            READ_COMPLETION_HANDLER.completed((int) Math.min(result, Integer.MAX_VALUE), aioSession);
+        }
+
+        @Override
+        public void failed(Throwable exc, TcpAioSession aioSession) {
+            READ_COMPLETION_HANDLER.failed(exc, aioSession);
+        }
+    };
+    /**
+     * 单次分散读最多申请的缓冲区数量
+     */
+    private static final int SCATTERING_READ_CHUNKS = 4;
+    /**
+     * 缓冲区链中单个缓冲区的最大容量
+     */
+    private static final int MAX_READ_CHUNK_SIZE = 256 * 1024;
+    /**
+     * 不支持零拷贝时，每次读取文件的字节数
+     */
+    private static final int FILE_CHUNK_SIZE = 32 * 1024;
     private final IoServerConfig config;
-    private final Supplier<VirtualBuffer> readBufferSupplier;
+    private final IntFunction<VirtualBuffer> readBufferAllocator;
+    /**
+     * 读缓冲区容量自适应调整，未启用时为null
+     */
+    private final AdaptiveReadBufferAllocator adaptiveAllocator;
     /**
      * 读缓冲。
      * <p>大小取决于AioQuickClient/AioQuickServer设置的setReadBufferSize</p>
      */
     private VirtualBuffer readBuffer;
     /**
-     * 写缓冲
+     * 由读缓冲区及后续池化缓冲区组成的解码视图，仅Protocol为{@link ScatteringProtocol}时启用
+     */
+    private final CompositeByteBuffer readChain;
+    /**
+     * 读缓冲区之后追加的池化缓冲区，与readChain中下标1开始的ByteBuffer一一对应
+     */
+    private VirtualBuffer[] readChunks;
+    /**
+     * 追加的池化缓冲区数量，大于0时表示处于缓冲区链模式
+     */
+    private int readChunkCount;
+    /**
+     * 分散读的目标缓冲区
+     */
+    private ByteBuffer[] scatteringBuffers;
+    /**
+     * 正在执行的分散读目标缓冲区数量，此时这些缓冲区处于写模式
+     */
+    private int scatteringCount;
+    /**
+     * 写缓冲，[0, writeCount)区间内为正在输出的数据
+     */
+    private final VirtualBuffer[] writeBuffers;
+    /**
+     * 聚集写时传递给通道的缓冲区组，与writeBuffers一一对应
+     */
+    private final ByteBuffer[] writeByteBuffers;
+    /**
+     * 正在输出的缓冲区数量
      */
-    private VirtualBuffer writeBuffer;
+    private int writeCount;
+    /**
+     * 底层通道是否支持聚集写，不支持时退化为逐个缓冲区输出
+     */
+    private boolean gatheringWrite = true;
+    /**
+     * 正在输出的文件区间
+     */
+    private FileRegion fileRegion;
+    /**
+     * 底层通道是否支持零拷贝输出文件，不支持时退化为分段读入写缓冲区输出
+     */
+    private boolean zeroCopy;
+    /**
+     * 单次读取解码出的消息，仅MessageProcessor为{@link BatchMessageProcessor}时启用
+     */
+    private final List<Object> batchMessages;
+    /**
+     * 是否因不可写而暂停读取
+     */
+    private volatile int readSuspended;
 
 
     /**
      * @param channel Socket通道
      */
-    TcpAioSession(AsynchronousSocketChannel channel, IoServerConfig config, BufferPagePool writeBufferPage, Supplier<VirtualBuffer> readBufferSupplier) {
+    TcpAioSession(AsynchronousSocketChannel channel, IoServerConfig config, BufferPagePool writeBufferPage, IntFunction<VirtualBuffer> readBufferAllocator) {
         this.channel = channel;
         this.config = config;
-        this.readBufferSupplier = readBufferSupplier;
-        byteBuf = new WriteBufferImpl(writeBufferPage, this::continueWrite, config.getWriteChunkSize(), config.getWriteChunkCount());
+        this.readBufferAllocator = readBufferAllocator;
+        this.adaptiveAllocator = config.isAdaptiveReadBuffer() ? new AdaptiveReadBufferAllocator(config.getMinReadBufferSize(), config.getReadBufferSize(), config.getMaxReadBufferSize()) : null;
+        this.readChain = config.getProtocol() instanceof ScatteringProtocol ? new CompositeByteBuffer(SCATTERING_READ_CHUNKS + 1) : null;
+        //队列中的数据、首个待输出数据以及正在写入的数据
+        this.writeBuffers = new VirtualBuffer[config.getWriteChunkCount() + 2];
+        this.writeByteBuffers = new ByteBuffer[writeBuffers.length];
+        byteBuf = new WriteBufferImpl(writeBufferPage, this::continueWrite, config.getWriteChunkSize(), config.getWriteChunkCount(), config.getWriteLowWaterMark(), config.getWriteHighWaterMark(), config.getWriteBufferLimit(), this::writabilityChanged);
+        this.zeroCopy = channel instanceof EnhanceChannel;
+        this.batchMessages = config.getProcessor() instanceof BatchMessageProcessor ? new ArrayList<>() : null;
         //触发状态机
         config.getProcessor().stateEvent(this, StateMachineEnum.NEW_SESSION, null);
         doRead();
     }
 
     void doRead() {
-        this.readBuffer = readBufferSupplier.get();
+        this.readBuffer = readBufferAllocator.apply(adaptiveAllocator == null ? config.getReadBufferSize() : adaptiveAllocator.size());
         this.readBuffer.buffer().flip();
         signalRead();
     }
@@ -148,15 +278,57 @@ final class TcpAioSession extends AioSession {
      */
     void writeCompleted(int result) {
         config.getPlugin().afterWrite(this, result);
-        VirtualBuffer writeBuffer = TcpAioSession.this.writeBuffer;
-        TcpAioSession.this.writeBuffer = null;
-        if (writeBuffer == null) {
-            writeBuffer = byteBuf.poll();
-        } else if (!writeBuffer.buffer().hasRemaining()) {
-            writeBuffer.clean();
-            writeBuffer = byteBuf.poll();
+        //不支持零拷贝时文件区间分段读入缓冲区输出
+        if (fileRegion != null) {
+            byteBuf.transferred(result);
+        } else {
+            byteBuf.written(result);
+        }
+        //释放已输出完毕的缓冲区
+        int index = 0;
+        while (index < writeCount && !writeBuffers[index].buffer().hasRemaining()) {
+            writeBuffers[index].clean();
+            writeBuffers[index] = null;
+            writeByteBuffers[index] = null;
+            index++;
+        }
+        if (index < writeCount) {
+            //半包写，剩余数据前移后继续输出
+            if (index > 0) {
+                int remaining = writeCount - index;
+                System.arraycopy(writeBuffers, index, writeBuffers, 0, remaining);
+                Arrays.fill(writeBuffers, remaining, writeCount, null);
+                Arrays.fill(writeByteBuffers, remaining, writeCount, null);
+                writeCount = remaining;
+            }
+            doWrite();
+            return;
+        }
+        writeCount = 0;
+        //文件区间分段输出中
+        if (fileRegion != null) {
+            transferFile();
+            return;
         }
+        writeNext();
+    }
+
+    /**
+     * 文件区间输出回调
+     */
+    private void transferCompleted(long result) {
+        config.getPlugin().afterWrite(this, (int) result);
+        byteBuf.transferred(result);
+        fileRegion.position += result;
+        fileRegion.count -= result;
+        transferFile();
+    }
 
+    /**
+     * 继续输出WriteBuffer中的数据，无数据时结束本轮输出
+     */
+    private void writeNext() {
+        VirtualBuffer writeBuffer = byteBuf.poll();
         if (writeBuffer != null) {
             continueWrite(writeBuffer);
             return;
@@ -184,6 +356,36 @@ final class TcpAioSession extends AioSession {
         return readBuffer.buffer();
     }
 
+    @Override
+    public boolean isWritable() {
+        return byteBuf.isWritable();
+    }
+
+    /**
+     * 可写状态发生变化，由WriteBuffer在触发变化的线程中调用，此时不持有WriteBuffer的任何锁。
+     * <p>EnhanceChannel将通知派发至读线程，避免在写线程中执行解码与业务处理；其他通道在当前线程直接触发状态机</p>
+     */
+    private void writabilityChanged() {
+        if (channel instanceof EnhanceChannel) {
+            ((EnhanceChannel) channel).execute(this::fireWritabilityChanged);
+        } else {
+            fireWritabilityChanged();
+        }
+    }
+
+    /**
+     * 通知可写状态变化，恢复可写时继续此前暂停的读取
+     */
+    private void fireWritabilityChanged() {
+        if (status == SESSION_STATUS_CLOSED) {
+            return;
+        }
+        config.getProcessor().stateEvent(this, StateMachineEnum.WRITABILITY_CHANGED, null);
+        if (byteBuf.isWritable() && READ_SUSPENDED_UPDATER.compareAndSet(this, 1, 0)) {
+            signalRead();
+        }
+    }
+
     @Override
     public void awaitRead() {
         modCount++;
@@ -209,15 +411,20 @@ final class TcpAioSession extends AioSession {
                         readBuffer.clean();
                         readBuffer = null;
                     }
-                    if (writeBuffer != null) {
-                        writeBuffer.clean();
-                        writeBuffer = null;
+                    scatteringCount = 0;
+                    releaseReadChunks(0);
+                    for (int i = 0; i < writeCount; i++) {
+                        writeBuffers[i].clean();
+                        writeBuffers[i] = null;
+                        writeByteBuffers[i] = null;
                     }
+                    writeCount = 0;
+                    fileRegion = null;
                 } finally {
                     IOUtil.close(channel);
                     config.getProcessor().stateEvent(this, StateMachineEnum.SESSION_CLOSED, null);
                 }
-            } else if ((writeBuffer == null || !writeBuffer.buffer().hasRemaining()) && byteBuf.isEmpty()) {
+            } else if (!hasRemainingWrite() && byteBuf.isEmpty()) {
                 close(true);
             } else {
                 config.getProcessor().stateEvent(this, StateMachineEnum.SESSION_CLOSING, null);
@@ -227,6 +434,19 @@ final class TcpAioSession extends AioSession {
     }
 
     void readCompleted(int result) {
+        //缓冲区链模式下的分散读
+        if (scatteringCount > 0) {
+            finishScatteringRead();
+            config.getPlugin().afterRead(this, result);
+            if (adaptiveAllocator != null && result > 0) {
+                adaptiveAllocator.record(result);
+            }
+            this.eof = result == -1;
+            if (SESSION_STATUS_CLOSED != status) {
+                signalRead();
+            }
+            return;
+        }
         //释放缓冲区
         if (result == EnhanceAsynchronousChannelProvider.READ_MONITOR_SIGNAL) {
             if (!config.isRetainReadBuffer()) {
@@ -246,6 +466,9 @@ final class TcpAioSession extends AioSession {
         }
         // 接收到的消息进行预处理
         config.getPlugin().afterRead(this, result);
+        if (adaptiveAllocator != null && result > 0) {
+            adaptiveAllocator.record(result);
+        }
         this.eof = result == -1;
         if (SESSION_STATUS_CLOSED != status) {
             this.readBuffer.buffer().flip();
@@ -261,35 +484,68 @@ final class TcpAioSession extends AioSession {
         if (status == SESSION_STATUS_CLOSED) {
             return;
         }
-        final ByteBuffer readBuffer = this.readBuffer.buffer();
+        ByteBuffer readBuffer = this.readBuffer.buffer();
         final MessageProcessor messageProcessor = config.getProcessor();
+        if (readChain != null) {
+            readChain.head(readBuffer);
+        }
         while (status == SESSION_STATUS_ENABLED) {
             Object dataEntry;
             try {
-                dataEntry = config.getProtocol().decode(readBuffer, this);
+                dataEntry = readChain == null ? config.getProtocol().decode(readBuffer, this) : ((ScatteringProtocol) config.getProtocol()).decode(readChain, this);
             } catch (Throwable e) {
+                if (batchMessages != null) {
+                    batchMessages.clear();
+                }
                 messageProcessor.stateEvent(this, StateMachineEnum.DECODE_EXCEPTION, e);
                 throw e;
             }
             if (dataEntry == null) {
                 break;
             }
+            //批量模式下先完成解码，再统一处理
+            if (batchMessages != null) {
+                batchMessages.add(dataEntry);
+                // 待输出数据超过高水位线时不再扩大本批消息，剩余数据待恢复可写后处理
+                if (eof || !byteBuf.isWritable()) {
+                    break;
+                }
+                continue;
+            }
 
             //处理消息
             try {
                 messageProcessor.process(this, dataEntry);
+                // 异步处理模式下暂停解码，由signalRead恢复，须先于eof判断以免会话在业务处理期间被关闭
+                if (modCount != this.modCount) {
+                    return;
+                }
                 // eof 情况下只提供一次解析机会，避免出现死循环
                 if (eof) {
                     break;
                 }
-                if (modCount != this.modCount) {
-                    return;
+                // 待输出数据超过高水位线，停止解码，剩余数据待恢复可写后处理
+                if (!byteBuf.isWritable()) {
+                    break;
                 }
             } catch (Exception e) {
                 messageProcessor.stateEvent(this, StateMachineEnum.PROCESS_EXCEPTION, e);
             }
         }
 
+        if (batchMessages != null && !batchMessages.isEmpty()) {
+            try {
+                ((BatchMessageProcessor) messageProcessor).process(this, batchMessages);
+            } catch (Exception e) {
+                messageProcessor.stateEvent(this, StateMachineEnum.PROCESS_EXCEPTION, e);
+            } finally {
+                batchMessages.clear();
+            }
+            if (modCount != this.modCount) {
+                return;
+            }
+        }
+
         if (eof || status == SESSION_STATUS_CLOSING) {
             close(false);
             messageProcessor.stateEvent(this, StateMachineEnum.INPUT_SHUTDOWN, null);
@@ -301,11 +557,49 @@ final class TcpAioSession extends AioSession {
 
         byteBuf.flush();
 
+        //待输出数据超过高水位线，暂停读取直至恢复可写
+        if (!byteBuf.isWritable()) {
+            readSuspended = 1;
+            //二次检查，避免错过并发发生的可写状态恢复
+            if (!byteBuf.isWritable() || !READ_SUSPENDED_UPDATER.compareAndSet(this, 1, 0)) {
+                return;
+            }
+        }
+
+        if (readChunkCount > 0) {
+            continueScatteringRead();
+            return;
+        }
+        //恢复默认容量或按近期读取量调整读缓冲区容量，须能容纳尚未解码的数据并留有读取空间
+        int readBufferSize = adaptiveAllocator == null ? config.getReadBufferSize() : adaptiveAllocator.size();
+        if (readBufferSize != readBuffer.capacity() && readBuffer.remaining() < readBufferSize) {
+            readBuffer = resizeReadBuffer(readBufferSize);
+        }
         if (readBuffer.hasRemaining()) {
             readBuffer.compact();
             //读缓冲区已满
+            if (adaptiveAllocator != null && !readBuffer.hasRemaining()) {
+                readBuffer.flip();
+                int capacity = readBuffer.capacity();
+                int size = adaptiveAllocator.expand(capacity);
+                if (size > capacity) {
+                    readBuffer = resizeReadBuffer(size);
+                }
+                readBuffer.compact();
+            }
+            //临时扩容以容纳大消息，待其解码完毕后恢复
+            if (!readBuffer.hasRemaining() && readBuffer.capacity() < config.getMaxFrameSize()) {
+                readBuffer.flip();
+                readBuffer = resizeReadBuffer((int) Math.min(config.getMaxFrameSize(), readBuffer.capacity() * 2L));
+                readBuffer.compact();
+            }
             if (!readBuffer.hasRemaining()) {
-                IllegalStateException exception = new IllegalStateException("readBuffer overflow. The current TCP connection " + "will be closed. Please fix your " + config.getProtocol().getClass().getSimpleName() + "#decode bug.");
+                if (readChain != null) {
+                    readBuffer.flip();
+                    continueScatteringRead();
+                    return;
+                }
+                IllegalStateException exception = new IllegalStateException("readBuffer overflow. The current TCP connection " + "will be closed. Please fix your " + config.getProtocol().getClass().getSimpleName() + "#decode bug, or enlarge maxFrameSize if the message is larger than " + readBuffer.capacity() + " bytes.");
                 messageProcessor.stateEvent(this, StateMachineEnum.DECODE_EXCEPTION, exception);
                 throw exception;
             }
@@ -315,7 +609,124 @@ final class TcpAioSession extends AioSession {
 
         //read from channel
         config.getPlugin().beforeRead(this);
-        channel.read(readBuffer, 0L, TimeUnit.MILLISECONDS, this, READ_COMPLETION_HANDLER);
+        channel.read(readBuffer, config.getReadTimeout(), TimeUnit.MILLISECONDS, this, READ_COMPLETION_HANDLER);
+    }
+
+    /**
+     * 更换为指定容量的读缓冲区，并迁移尚未解码的数据
+     *
+     * @param size 新缓冲区容量
+     * @return 处于读模式的新缓冲区
+     */
+    private ByteBuffer resizeReadBuffer(int size) {
+        VirtualBuffer virtualBuffer = readBufferAllocator.apply(size);
+        ByteBuffer buffer = virtualBuffer.buffer();
+        buffer.put(readBuffer.buffer());
+        buffer.flip();
+        readBuffer.clean();
+        readBuffer = virtualBuffer;
+        return buffer;
+    }
+
+    /**
+     * 读缓冲区无法容纳一个完整消息时，通过分散读将后续数据接收至池化的缓冲区链中
+     */
+    private void continueScatteringRead() {
+        ScatteringProtocol<?> protocol = (ScatteringProtocol<?>) config.getProtocol();
+        ByteBuffer head = readBuffer.buffer();
+        int remaining = readChain.remaining();
+        //剩余数据可由读缓冲区容纳，退出缓冲区链模式
+        if (remaining < head.capacity()) {
+            head.compact();
+            for (int i = 0; i < readChunkCount; i++) {
+                head.put(readChunks[i].buffer());
+            }
+            releaseReadChunks(0);
+            config.getPlugin().beforeRead(this);
+            channel.read(head, config.getReadTimeout(), TimeUnit.MILLISECONDS, this, READ_COMPLETION_HANDLER);
+            return;
+        }
+        if (remaining >= protocol.maxFrameLength()) {
+            IllegalStateException exception = new IllegalStateException("frame length exceeds " + protocol.maxFrameLength() + ". The current TCP connection will be closed.");
+            config.getProcessor().stateEvent(this, StateMachineEnum.DECODE_EXCEPTION, exception);
+            throw exception;
+        }
+        //释放已解码完毕的缓冲区，末尾的缓冲区作为分散读的起点予以保留
+        int consumed = 0;
+        while (consumed < readChunkCount - 1 && !readChunks[consumed].buffer().hasRemaining()) {
+            readChunks[consumed++].clean();
+        }
+        if (consumed > 0) {
+            System.arraycopy(readChunks, consumed, readChunks, 0, readChunkCount - consumed);
+            Arrays.fill(readChunks, readChunkCount - consumed, readChunkCount, null);
+            readChunkCount -= consumed;
+            readChain.remove(1, consumed + 1);
+        }
+
+        if (scatteringBuffers == null) {
+            scatteringBuffers = new ByteBuffer[SCATTERING_READ_CHUNKS + 1];
+            readChunks = new VirtualBuffer[SCATTERING_READ_CHUNKS];
+        }
+        if (readChunkCount > 0) {
+            ByteBuffer tail = readChunks[readChunkCount - 1].buffer();
+            tail.compact();
+            if (tail.hasRemaining()) {
+                scatteringBuffers[scatteringCount++] = tail;
+            } else {
+                tail.flip();
+            }
+        }
+        //缓冲区容量随待解码数据量倍增，减少大报文所需的缓冲区数量
+        int chunkSize = Math.max(config.getReadBufferSize(), Math.min(Integer.highestOneBit(remaining), MAX_READ_CHUNK_SIZE));
+        for (int i = 0; i < SCATTERING_READ_CHUNKS; i++) {
+            if (readChunkCount == readChunks.length) {
+                readChunks = Arrays.copyOf(readChunks, readChunkCount << 1);
+            }
+            VirtualBuffer chunk = readBufferAllocator.apply(chunkSize);
+            readChunks[readChunkCount++] = chunk;
+            readChain.add(chunk.buffer());
+            scatteringBuffers[scatteringCount++] = chunk.buffer();
+        }
+        config.getPlugin().beforeRead(this);
+        try {
+            channel.read(scatteringBuffers, 0, scatteringCount, config.getReadTimeout(), TimeUnit.MILLISECONDS, this, SCATTERING_READ_COMPLETION_HANDLER);
+        } catch (UnsupportedOperationException e) {
+            finishScatteringRead();
+            IllegalStateException exception = new IllegalStateException("readBuffer overflow. " + channel.getClass().getSimpleName() + " does not support scattering read, please enlarge readBufferSize.");
+            config.getProcessor().stateEvent(this, StateMachineEnum.DECODE_EXCEPTION, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * 分散读结束，将目标缓冲区切换至读模式，并归还未读入数据的缓冲区
+     */
+    private void finishScatteringRead() {
+        for (int i = 0; i < scatteringCount; i++) {
+            scatteringBuffers[i].flip();
+            scatteringBuffers[i] = null;
+        }
+        scatteringCount = 0;
+        int count = readChunkCount;
+        while (count > 0 && !readChunks[count - 1].buffer().hasRemaining()) {
+            count--;
+        }
+        releaseReadChunks(count);
+    }
+
+    /**
+     * 归还readChunks中下标from之后的缓冲区
+     */
+    private void releaseReadChunks(int from) {
+        if (readChunkCount <= from) {
+            return;
+        }
+        for (int i = from; i < readChunkCount; i++) {
+            readChunks[i].clean();
+            readChunks[i] = null;
+        }
+        readChain.remove(from + 1, readChunkCount + 1);
+        readChunkCount = from;
     }
 
     /**
@@ -339,15 +750,124 @@ final class TcpAioSession extends AioSession {
         }
     }
 
+    @Override
+    public void execute(Runnable task) {
+        enhanceChannel().execute(task);
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delay, TimeUnit unit) {
+        return enhanceChannel().schedule(task, delay, unit);
+    }
+
+    @Override
+    public void addShutdownHook(Runnable hook) {
+        enhanceChannel().addShutdownHook(hook);
+    }
+
+    private EnhanceChannel enhanceChannel() {
+        if (channel instanceof EnhanceChannel) {
+            return (EnhanceChannel) channel;
+        }
+        throw new UnsupportedOperationException(channel.getClass().getName() + " is not an EnhanceChannel");
+    }
+
     /**
      * 触发写操作
      *
      * @param writeBuffer 存放待输出数据的buffer
      */
     private void continueWrite(VirtualBuffer writeBuffer) {
-        this.writeBuffer = writeBuffer;
+        FileRegion region = byteBuf.fileRegion();
+        if (region != null && region.signal == writeBuffer) {
+            writeBuffer.clean();
+            fileRegion = region;
+            transferFile();
+            return;
+        }
+        writeBuffers[0] = writeBuffer;
+        writeCount = 1;
+        doWrite();
+    }
+
+    /**
+     * 输出writeBuffers中的数据，同时将WriteBuffer中已就绪的数据一并取出，通过一次聚集写输出
+     */
+    private void doWrite() {
+        if (gatheringWrite && fileRegion == null) {
+            writeCount += byteBuf.drain(writeBuffers, writeCount);
+        }
         config.getPlugin().beforeWrite(this);
-        channel.write(writeBuffer.buffer(), 0L, TimeUnit.MILLISECONDS, this, WRITE_COMPLETION_HANDLER);
+        if (gatheringWrite && writeCount > 1) {
+            for (int i = 0; i < writeCount; i++) {
+                writeByteBuffers[i] = writeBuffers[i].buffer();
+            }
+            try {
+                channel.write(writeByteBuffers, 0, writeCount, config.getWriteTimeout(), TimeUnit.MILLISECONDS, this, GATHERING_WRITE_COMPLETION_HANDLER);
+                return;
+            } catch (UnsupportedOperationException e) {
+                //例如SSL通道，后续逐个缓冲区输出
+                gatheringWrite = false;
+            }
+        }
+        channel.write(writeBuffers[0].buffer(), config.getWriteTimeout(), TimeUnit.MILLISECONDS, this, WRITE_COMPLETION_HANDLER);
+    }
+
+    /**
+     * 输出文件区间，优先采用零拷贝方式
+     */
+    private void transferFile() {
+        FileRegion region = fileRegion;
+        if (region.count == 0) {
+            fileRegion = null;
+            byteBuf.finishTransfer();
+            writeNext();
+            return;
+        }
+        if (zeroCopy) {
+            config.getPlugin().beforeWrite(this);
+            try {
+                ((EnhanceChannel) channel).transferFrom(region.channel, region.position, region.count, config.getWriteTimeout(), TimeUnit.MILLISECONDS, this, TRANSFER_COMPLETION_HANDLER);
+                return;
+            } catch (UnsupportedOperationException e) {
+                //例如SSL通道，后续分段读入写缓冲区输出
+                zeroCopy = false;
+            }
+        }
+        //固定按FILE_CHUNK_SIZE申请以便复用缓冲区，末段通过limit控制读取量
+        VirtualBuffer buffer = byteBuf.allocate(FILE_CHUNK_SIZE);
+        buffer.buffer().limit((int) Math.min(region.count, FILE_CHUNK_SIZE));
+        try {
+            int size = region.channel.read(buffer.buffer(), region.position);
+            if (size < 0) {
+                throw new EOFException("position " + region.position + " exceeds file size " + region.channel.size());
+            }
+            buffer.buffer().flip();
+            region.position += size;
+            region.count -= size;
+        } catch (IOException e) {
+            buffer.clean();
+            WRITE_COMPLETION_HANDLER.failed(e, this);
+            return;
+        }
+        writeBuffers[0] = buffer;
+        writeCount = 1;
+        doWrite();
+    }
+
+    /**
+     * @return 是否存在尚未输出完毕的数据
+     */
+    private boolean hasRemainingWrite() {
+        if (fileRegion != null) {
+            return true;
+        }
+        for (int i = 0; i < writeCount; i++) {
+            if (writeBuffers[i].buffer().hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -12,10 +12,15 @@ package io.github.smartboot.socket.transport;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.function.Consumer;
 
 /**
  * 包装当前会话分配到的虚拟Buffer,提供流式操作方式
+ * <p>
+ * 启用非阻塞写模式(设置待输出数据的字节上限)后，写操作不会阻塞调用线程，
+ * 超出上限的写操作抛出{@link java.nio.BufferOverflowException}且不写入任何数据。
+ * </p>
  *
  * @author 三刀
  * @version V1.0 , 2018/11/8
@@ -58,12 +63,55 @@ public interface WriteBuffer extends Closeable {
      */
     void writeLong(long v) throws IOException;
 
+    /**
+     * 以小端序输出int数值,占用4个字节
+     *
+     * @param v int数值
+     * @throws IOException IO异常
+     */
+    void writeIntLE(int v) throws IOException;
+
+    /**
+     * 以变长编码(无符号LEB128，每字节低7位存放数据)输出int数值,占用1~5个字节，负数固定占用5个字节
+     *
+     * @param v int数值
+     * @throws IOException IO异常
+     */
+    void writeVarInt(int v) throws IOException;
+
+    /**
+     * 输出ASCII字符串，每个字符仅输出低8位，不做编码转换。
+     * 写缓冲区采用堆外内存时逐字节写入，吞吐可能低于先编码为byte[]再写入
+     *
+     * @param s 字符串
+     * @throws IOException IO异常
+     */
+    void writeAscii(CharSequence s) throws IOException;
+
+    /**
+     * 以UTF-8编码输出字符串，无需为每次写入分配byte[]。
+     * 不成对的代理字符以'?'替代，与{@link String#getBytes(java.nio.charset.Charset)}保持一致。
+     * 写缓冲区采用堆外内存时逐字节写入，吞吐可能低于先编码为byte[]再写入
+     *
+     * @param s 字符串
+     * @throws IOException IO异常
+     */
+    void writeUtf8(CharSequence s) throws IOException;
+
     default void write(byte[] b) throws IOException {
         write(b, 0, b.length);
     }
 
     void write(byte[] b, int off, int len) throws IOException;
 
+    /**
+     * 拷贝输出src中的剩余数据，完成后src的position推进至limit，src可立即复用
+     *
+     * @param src 处于读模式的缓冲区
+     * @throws IOException IO异常
+     */
+    void write(ByteBuffer src) throws IOException;
+
     void write(byte[] bytes, int offset, int len, Consumer<WriteBuffer> consumer) throws IOException;
 
     default void write(byte[] bytes, Consumer<WriteBuffer> consumer) throws IOException {
@@ -72,5 +120,93 @@ public interface WriteBuffer extends Closeable {
 
     void transferFrom(ByteBuffer byteBuffer, Consumer<WriteBuffer> consumer) throws IOException;
 
+    /**
+     * 以引用方式输出外部缓冲区，数据不会拷贝至写缓冲区。
+     * <p>
+     * 适用于MappedByteBuffer切片、共享的只读DirectByteBuffer等大块数据。buffer在输出期间归WriteBuffer所有，
+     * 调用方不得修改其内容与position，输出完毕或会话关闭后通过release交还。
+     * 与{@link #transferFrom(ByteBuffer, Consumer)}不同，多个引用缓冲区可连续写入，不会抛出WritePendingException。
+     * </p>
+     *
+     * @param buffer  处于读模式的缓冲区
+     * @param release 释放回调，参数为buffer，在IO线程或关闭会话的线程中执行
+     * @throws IOException                        WriteBuffer已关闭，此时buffer仍归调用方所有
+     * @throws java.nio.BufferOverflowException 超出待输出数据的字节上限，此时buffer仍归调用方所有
+     */
+    void writeReference(ByteBuffer buffer, Consumer<ByteBuffer> release) throws IOException;
+
+    /**
+     * 输出文件中的指定区间。
+     * <p>
+     * 底层通道支持时通过{@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}直接输出至Socket(sendfile)，
+     * 数据无需拷贝至写缓冲区；SSL等需要加工数据的通道则分段读入写缓冲区后输出。
+     * 输出顺序与此前、此后写入的数据保持一致，全部输出完毕后回调consumer，此时方可关闭或复用文件通道。
+     * 若数据可立即输出完毕，consumer可能在本方法返回前被调用。
+     * </p>
+     *
+     * @param channel  文件通道
+     * @param position 文件起始位置
+     * @param count    输出的字节数
+     * @param consumer 输出完毕后的回调
+     * @throws IOException                                   WriteBuffer已关闭
+     * @throws java.nio.channels.WritePendingException 存在尚未完成的transferFrom或带回调的write
+     */
+    void transferFrom(FileChannel channel, long position, long count, Consumer<WriteBuffer> consumer) throws IOException;
+
+    /**
+     * 在输出流中预留size字节，用于先输出消息体、再回填长度等头部字段的协议。
+     * <p>
+     * 预留之后写入的数据直接编码至写缓冲区，无需借助临时byte[]计算长度；在{@link #backfill(long)}之前这些数据暂不输出，
+     * 也不受写缓冲队列容量的限制。同一时刻仅允许存在一个预留区域，期间不可调用附带回调的write、transferFrom及writeReference。
+     * 与其他写操作一样，多线程并发写入同一会话时需由调用方保证消息的完整性。
+     * </p>
+     * <pre>
+     * writeBuffer.reserve(4);
+     * writeBuffer.writeUtf8(body);
+     * writeBuffer.backfill(writeBuffer.writtenSinceReserve());
+     * </pre>
+     *
+     * @param size 预留的字节数，取值范围1~8
+     * @throws IOException           WriteBuffer已关闭
+     * @throws IllegalStateException 已存在尚未回填的预留区域
+     */
+    void reserve(int size) throws IOException;
+
+    /**
+     * @return 预留区域之后已写入的字节数
+     * @throws IllegalStateException 不存在预留区域
+     */
+    int writtenSinceReserve();
+
+    /**
+     * 以大端序将value的低size个字节回填至预留区域，此后预留期间写入的数据方可输出
+     *
+     * @param value 回填的数值
+     * @throws IOException           WriteBuffer已关闭
+     * @throws IllegalStateException 不存在预留区域
+     */
+    void backfill(long value) throws IOException;
+
+    /**
+     * 暂停输出，此后写入的数据暂存于写缓冲队列中，{@link #flush()}亦不会触发输出，直至{@link #uncork()}。
+     * <p>
+     * 适用于分多次写入的响应：由多个内存块组成的数据在uncork时通过一次聚集写输出，避免逐块触发系统调用。
+     * cork可嵌套调用，与uncork成对出现，最外层uncork时才恢复输出。
+     * 未启用写水位线时，写缓冲队列已满则不再暂存，以免写入线程永久阻塞。
+     * </p>
+     * <p>
+     * cork与其他线程并发的{@link #flush()}之间不保证先后：cork之前已被flush取走的数据照常输出。
+     * 如需确保一组数据在uncork时一并输出，应由写入数据的线程成对调用cork与uncork，且期间不与其他线程共享该WriteBuffer。
+     * </p>
+     */
+    void cork();
+
+    /**
+     * 恢复输出并立即输出cork期间暂存的数据
+     *
+     * @throws IllegalStateException 未调用过cork
+     */
+    void uncork();
+
     void flush();
 }
\ No newline at end of file
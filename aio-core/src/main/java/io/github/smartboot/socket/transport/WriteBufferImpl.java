@@ -15,13 +15,24 @@ import io.github.smartboot.socket.buffer.VirtualBuffer;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritePendingException;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 
 /**
  * 包装当前会话分配到的虚拟Buffer,提供流式操作方式
+ * <p>
+ * 已写入的数据以内存块为节点组成无锁的多生产者单消费者链表队列：业务线程通过CAS占用队尾的内存块追加写入，
+ * 无法占用或剩余空间不足时，将独占申请的内存块链一次性链接至队尾，因此单次写入的数据总是连续的。
+ * 输出权同样由CAS维护，同一时刻仅有一个线程从队头取出数据交由writeConsumer输出。
+ * </p>
  *
  * @author 三刀
  * @version V1.0 , 2018/11/8
@@ -29,9 +40,41 @@ import java.util.function.Consumer;
 
 final class WriteBufferImpl extends OutputStream implements WriteBuffer {
     /**
-     * 存储已就绪待输出的数据
+     * 内存块可追加写入
      */
-    private final VirtualBuffer[] items;
+    private static final int FREE = 0;
+    /**
+     * 内存块被业务线程占用，追加写入中
+     */
+    private static final int CLAIMED = 1;
+    /**
+     * 输出线程等待业务线程结束占用，或等待预留区域回填
+     */
+    private static final int AWAITED = 2;
+    /**
+     * 内存块已被输出线程取走或随关闭释放，不可再写入
+     */
+    private static final int SEALED = 3;
+    /**
+     * 节点中存在尚未回填的预留区域
+     */
+    private static final int RESERVED = 1;
+    /**
+     * 队尾内存块被其他线程占用时的最大自旋次数，单核环境下自旋无益
+     */
+    private static final int CLAIM_SPINS = Runtime.getRuntime().availableProcessors() < 2 ? 0 : 32;
+    private static final AtomicIntegerFieldUpdater<Node> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Node.class, "state");
+    private static final AtomicIntegerFieldUpdater<Node> RESERVED_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Node.class, "reserved");
+    private static final AtomicReferenceFieldUpdater<WriteBufferImpl, Node> TAIL_UPDATER = AtomicReferenceFieldUpdater.newUpdater(WriteBufferImpl.class, Node.class, "tail");
+    private static final AtomicIntegerFieldUpdater<WriteBufferImpl> OWNER_UPDATER = AtomicIntegerFieldUpdater.newUpdater(WriteBufferImpl.class, "owner");
+    private static final AtomicIntegerFieldUpdater<WriteBufferImpl> CORKED_UPDATER = AtomicIntegerFieldUpdater.newUpdater(WriteBufferImpl.class, "corked");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<WriteBufferImpl, Consumer> COMPLETION_UPDATER = AtomicReferenceFieldUpdater.newUpdater(WriteBufferImpl.class, Consumer.class, "completionConsumer");
+    /**
+     * 附带回调的数据入队之前的占位回调，防止输出线程在数据入队之前触发回调
+     */
+    private static final Consumer<WriteBuffer> PENDING = writeBuffer -> {
+    };
 
     /**
      * 为当前 WriteBuffer 提供数据存放功能的缓存页
@@ -46,40 +89,111 @@ final class WriteBufferImpl extends OutputStream implements WriteBuffer {
      */
     private final int chunkSize;
     /**
-     * items 读索引位
+     * 未启用写水位线时，输出队列可容纳的节点数
+     */
+    private final int capacity;
+    /**
+     * 队头的哨兵节点，其后继为首个待输出的节点，仅由持有输出权的线程修改
+     */
+    private volatile Node head;
+    /**
+     * 队尾节点，业务线程在此追加写入或链接新的节点
+     */
+    private volatile Node tail;
+    /**
+     * 输出队列中的节点数
+     */
+    private final AtomicInteger count = new AtomicInteger();
+    /**
+     * 输出权，1表示已有线程在输出，防止并发write导致异常
+     */
+    private volatile int owner;
+    /**
+     * 因输出队列已满而等待的业务线程数
+     */
+    private final AtomicInteger waiters = new AtomicInteger();
+    /**
+     * 输出队列已满时，业务线程在此等待输出线程腾出空间
      */
-    private int takeIndex;
+    private final Object fullLock = new Object();
     /**
-     * items 写索引位
+     * cork的嵌套层数，大于0时已就绪的数据暂存于队列中，直至uncork
      */
-    private int putIndex;
+    private volatile int corked;
     /**
-     * items 中存放的缓冲数据数量
+     * 预留区域起始位置所在的节点，不为null时表示预留区域尚未回填
      */
-    private int count;
+    private volatile Node reservedNode;
     /**
-     * 暂存当前业务正在输出的数据,输出完毕后会存放到items中
+     * 预留区域在内存块中的起始位置
      */
-    private VirtualBuffer writeInBuf;
+    private int reservedPosition;
+    /**
+     * 预留区域的字节数
+     */
+    private int reservedSize;
     /**
      * 当前WriteBuffer是否已关闭
      */
-    private boolean closed = false;
+    private volatile boolean closed = false;
     /**
-     * 辅助8字节以内输出的缓存组数
+     * 写低水位线
      */
-    private byte[] cacheByte;
-
+    private final int lowWaterMark;
+    /**
+     * 写高水位线，0表示不启用
+     */
+    private final int highWaterMark;
+    /**
+     * 待输出字节数上限，超出时写操作快速失败，0表示不限制
+     */
+    private final int limit;
+    /**
+     * 可写状态变化的回调，在触发状态变化的线程中调用，此时不持有任何锁。
+     * 并发的状态变化可能使回调乱序到达，监听方应以{@link #isWritable()}的当前值为准，并异步派发后续处理
+     */
+    private final Runnable writabilityListener;
     /**
-     * 输出信号量,防止并发write导致异常
+     * 已提交但尚未输出的字节数，仅启用写水位线或字节上限时统计
      */
-    private final Semaphore semaphore = new Semaphore(1);
+    private final AtomicLong pendingBytes = new AtomicLong();
+    /**
+     * 待输出字节数中尚未输出的文件字节数，文件传输不占用写缓冲区，不计入字节上限
+     */
+    private final AtomicLong pendingFileBytes = new AtomicLong();
+    /**
+     * 待输出数据是否低于写水位线
+     */
+    private final AtomicBoolean writable = new AtomicBoolean(true);
+    private volatile Consumer<WriteBuffer> completionConsumer;
+    /**
+     * 尚未输出完毕的文件区间
+     */
+    private volatile FileRegion fileRegion;
 
     WriteBufferImpl(BufferPagePool pool, Consumer<VirtualBuffer> writeConsumer, int chunkSize, int capacity) {
+        this(pool, writeConsumer, chunkSize, capacity, 0, 0, 0, null);
+    }
+
+    WriteBufferImpl(BufferPagePool pool, Consumer<VirtualBuffer> writeConsumer, int chunkSize, int capacity, int lowWaterMark, int highWaterMark, int limit, Runnable writabilityListener) {
         this.bufferPage = pool.allocatePage();
         this.writeConsumer = writeConsumer;
-        this.items = new VirtualBuffer[capacity];
+        this.capacity = capacity;
         this.chunkSize = chunkSize;
+        //仅设置字节上限时，触及上限变为不可写，回落至上限的一半恢复可写
+        if (limit > 0 && highWaterMark == 0) {
+            this.lowWaterMark = limit >> 1;
+            this.highWaterMark = limit;
+        } else {
+            this.lowWaterMark = lowWaterMark;
+            this.highWaterMark = highWaterMark;
+        }
+        this.limit = limit;
+        this.writabilityListener = writabilityListener;
+        Node stub = new Node(null, false);
+        stub.state = SEALED;
+        head = stub;
+        tail = stub;
     }
 
     /**
@@ -102,115 +216,556 @@ final class WriteBufferImpl extends OutputStream implements WriteBuffer {
      * @throws IOException IO异常
      */
     public void writeShort(short v) throws IOException {
-        initCacheBytes();
-        cacheByte[0] = (byte) ((v >>> 8) & 0xFF);
-        cacheByte[1] = (byte) (v & 0xFF);
-        write(cacheByte, 0, 2);
+        checkWrite(2);
+        Node node = claim(2);
+        if (node == null) {
+            putBytes(v, 2);
+            return;
+        }
+        node.buffer.buffer().putShort(v);
+        release(node);
     }
 
     /**
      * @param b 待输出数值
      * @see #write(int)
      */
-    public synchronized void writeByte(byte b) {
-        if (writeInBuf == null) {
-            writeInBuf = bufferPage.allocate(chunkSize);
+    public void writeByte(byte b) {
+        acquire(1);
+        Node node = claim(1);
+        if (node == null) {
+            putBytes(b, 1);
+            return;
+        }
+        node.buffer.buffer().put(b);
+        release(node);
+    }
+
+    /**
+     * 输出int数值,占用4个字节
+     *
+     * @param v int数值
+     * @throws IOException IO异常
+     */
+    public void writeInt(int v) throws IOException {
+        checkWrite(4);
+        Node node = claim(4);
+        if (node == null) {
+            putBytes(v, 4);
+            return;
         }
-        writeInBuf.buffer().put(b);
-        flushWriteBuffer(false);
+        node.buffer.buffer().putInt(v);
+        release(node);
+    }
+
+    @Override
+    public void writeIntLE(int v) throws IOException {
+        writeInt(Integer.reverseBytes(v));
     }
 
-    private void flushWriteBuffer(boolean forceFlush) {
-        if (!forceFlush && writeInBuf.buffer().hasRemaining()) {
+    /**
+     * 输出long数值,占用8个字节
+     *
+     * @param v long数值
+     * @throws IOException IO异常
+     */
+    public void writeLong(long v) throws IOException {
+        checkWrite(8);
+        Node node = claim(8);
+        if (node == null) {
+            putBytes(v, 8);
             return;
         }
-        writeInBuf.buffer().flip();
-        VirtualBuffer virtualBuffer = writeInBuf;
-        writeInBuf = null;
-        if (count == 0 && semaphore.tryAcquire()) {
-            writeConsumer.accept(virtualBuffer);
+        node.buffer.buffer().putLong(v);
+        release(node);
+    }
+
+    @Override
+    public void writeVarInt(int v) throws IOException {
+        int size = 1;
+        for (int n = v; (n & ~0x7F) != 0; n >>>= 7) {
+            size++;
+        }
+        checkWrite(size);
+        Node node = claim(size);
+        if (node == null) {
+            //逐字节写入新的节点链，可能跨越内存块
+            Chain chain = new Chain();
+            while ((v & ~0x7F) != 0) {
+                chain.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            chain.put((byte) v);
+            chain.link();
             return;
         }
+        ByteBuffer buffer = node.buffer.buffer();
+        while ((v & ~0x7F) != 0) {
+            buffer.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+        release(node);
+    }
 
+    @Override
+    public void writeAscii(CharSequence s) throws IOException {
+        int length = s.length();
+        checkWrite(length);
+        Node node = claim(length);
+        if (node != null) {
+            putAscii(node.buffer.buffer(), s, 0, length);
+            release(node);
+            return;
+        }
+        Chain chain = new Chain();
+        int i = 0;
+        while (i < length) {
+            ByteBuffer buffer = chain.buffer();
+            int end = Math.min(length, i + buffer.remaining());
+            putAscii(buffer, s, i, end);
+            i = end;
+        }
+        chain.link();
+    }
 
-        try {
-            while (count == items.length) {
-                this.wait();
-                //防止因close诱发内存泄露
-                if (closed) {
-                    virtualBuffer.clean();
-                    return;
+    /**
+     * 将s中[start, end)的字符按单字节写入buffer
+     */
+    @SuppressWarnings("deprecation")
+    private static void putAscii(ByteBuffer buffer, CharSequence s, int start, int end) {
+        int position = buffer.position();
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset() + position;
+            if (s instanceof String) {
+                //该方法同样只取每个字符的低8位，Latin1字符串直接数组拷贝
+                ((String) s).getBytes(start, end, array, offset);
+            } else {
+                for (int i = start; i < end; i++) {
+                    array[offset++] = (byte) s.charAt(i);
                 }
             }
+            buffer.position(position + end - start);
+            return;
+        }
+        for (int i = start; i < end; i++) {
+            buffer.put(position++, (byte) s.charAt(i));
+        }
+        buffer.position(position);
+    }
 
-            items[putIndex] = virtualBuffer;
-            if (++putIndex == items.length) {
-                putIndex = 0;
+    @Override
+    public void writeUtf8(CharSequence s) throws IOException {
+        int length = s.length();
+        //仅在统计待输出字节数时需要预先计算编码长度，否则按最大编码长度判断能否写入队尾的内存块
+        int size = highWaterMark > 0 ? utf8Length(s) : length <= Integer.MAX_VALUE / 3 ? length * 3 : Integer.MAX_VALUE;
+        checkWrite(size);
+        Node node = claim(size);
+        if (node != null) {
+            putUtf8(node.buffer.buffer(), s, 0);
+            release(node);
+            return;
+        }
+        Chain chain = new Chain();
+        ByteBuffer bytes = null;
+        int i = 0;
+        while (i < length) {
+            ByteBuffer buffer = chain.buffer();
+            i = putUtf8(buffer, s, i);
+            if (i < length && buffer.hasRemaining()) {
+                //字符跨越内存块，编码至中间缓冲区后逐字节写入
+                if (bytes == null) {
+                    bytes = ByteBuffer.allocate(4);
+                } else {
+                    bytes.clear();
+                }
+                i = putUtf8(bytes, s, i);
+                bytes.flip();
+                while (bytes.hasRemaining()) {
+                    chain.put(bytes.get());
+                }
             }
-            count++;
-        } catch (InterruptedException e1) {
-            throw new RuntimeException(e1);
-        } finally {
-            flush();
         }
+        chain.link();
     }
 
     /**
-     * 输出int数值,占用4个字节
+     * 从第i个字符开始按UTF-8编码写入buffer，剩余空间不足以容纳下一个字符时停止
      *
-     * @param v int数值
-     * @throws IOException IO异常
+     * @return 下一个待编码字符的位置
      */
-    public void writeInt(int v) throws IOException {
-        initCacheBytes();
-        cacheByte[0] = (byte) ((v >>> 24) & 0xFF);
-        cacheByte[1] = (byte) ((v >>> 16) & 0xFF);
-        cacheByte[2] = (byte) ((v >>> 8) & 0xFF);
-        cacheByte[3] = (byte) (v & 0xFF);
-        write(cacheByte, 0, 4);
+    private static int putUtf8(ByteBuffer buffer, CharSequence s, int i) {
+        if (buffer.hasArray()) {
+            return putUtf8(buffer, buffer.array(), s, i);
+        }
+        int length = s.length();
+        int position = buffer.position();
+        int limit = buffer.limit();
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (position == limit) {
+                    break;
+                }
+                buffer.put(position++, (byte) c);
+                i++;
+            } else if (c < 0x800) {
+                if (limit - position < 2) {
+                    break;
+                }
+                buffer.put(position++, (byte) (0xC0 | (c >> 6)));
+                buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                if (limit - position < 3) {
+                    break;
+                }
+                buffer.put(position++, (byte) (0xE0 | (c >> 12)));
+                buffer.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (c & 0x3F)));
+                i++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                if (limit - position < 4) {
+                    break;
+                }
+                int codePoint = Character.toCodePoint(c, s.charAt(i + 1));
+                buffer.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+                i += 2;
+            } else {
+                //不成对的代理字符，与String.getBytes保持一致以'?'替代
+                if (position == limit) {
+                    break;
+                }
+                buffer.put(position++, (byte) '?');
+                i++;
+            }
+        }
+        buffer.position(position);
+        return i;
     }
 
     /**
-     * 输出long数值,占用8个字节
-     *
-     * @param v long数值
-     * @throws IOException IO异常
+     * 堆内存直接写入底层数组，免去ByteBuffer逐字节写入的边界检查
      */
-    public void writeLong(long v) throws IOException {
-        initCacheBytes();
-        cacheByte[0] = (byte) ((v >>> 56) & 0xFF);
-        cacheByte[1] = (byte) ((v >>> 48) & 0xFF);
-        cacheByte[2] = (byte) ((v >>> 40) & 0xFF);
-        cacheByte[3] = (byte) ((v >>> 32) & 0xFF);
-        cacheByte[4] = (byte) ((v >>> 24) & 0xFF);
-        cacheByte[5] = (byte) ((v >>> 16) & 0xFF);
-        cacheByte[6] = (byte) ((v >>> 8) & 0xFF);
-        cacheByte[7] = (byte) (v & 0xFF);
-        write(cacheByte, 0, 8);
+    private static int putUtf8(ByteBuffer buffer, byte[] array, CharSequence s, int i) {
+        int length = s.length();
+        int offset = buffer.arrayOffset();
+        int position = offset + buffer.position();
+        int limit = offset + buffer.limit();
+        while (i < length) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (position == limit) {
+                    break;
+                }
+                array[position++] = (byte) c;
+                i++;
+            } else if (c < 0x800) {
+                if (limit - position < 2) {
+                    break;
+                }
+                array[position++] = (byte) (0xC0 | (c >> 6));
+                array[position++] = (byte) (0x80 | (c & 0x3F));
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                if (limit - position < 3) {
+                    break;
+                }
+                array[position++] = (byte) (0xE0 | (c >> 12));
+                array[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                array[position++] = (byte) (0x80 | (c & 0x3F));
+                i++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                if (limit - position < 4) {
+                    break;
+                }
+                int codePoint = Character.toCodePoint(c, s.charAt(i + 1));
+                array[position++] = (byte) (0xF0 | (codePoint >> 18));
+                array[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                array[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                array[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                i += 2;
+            } else {
+                if (position == limit) {
+                    break;
+                }
+                array[position++] = (byte) '?';
+                i++;
+            }
+        }
+        buffer.position(position - offset);
+        return i;
+    }
+
+    /**
+     * 计算UTF-8编码后的字节数
+     */
+    private static int utf8Length(CharSequence s) {
+        int length = s.length();
+        int size = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                size += 1;
+            } else if (!Character.isSurrogate(c)) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                //代理对占用两个char，编码为4个字节
+                size += 2;
+                i++;
+            }
+        }
+        return size;
     }
 
     @Override
-    public synchronized void write(byte[] b, int off, int len) throws IOException {
+    public void write(ByteBuffer src) throws IOException {
+        int len = src.remaining();
+        checkWrite(len);
+        Node node = claim(len);
+        if (node != null) {
+            node.buffer.buffer().put(src);
+            release(node);
+            return;
+        }
+        Chain chain = new Chain();
+        while (src.hasRemaining()) {
+            ByteBuffer buffer = chain.buffer();
+            if (src.remaining() <= buffer.remaining()) {
+                buffer.put(src);
+            } else {
+                int srcLimit = src.limit();
+                src.limit(src.position() + buffer.remaining());
+                buffer.put(src);
+                src.limit(srcLimit);
+            }
+        }
+        chain.link();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkWrite(len);
+        Node node = claim(len);
+        if (node == null) {
+            Chain chain = new Chain();
+            chain.put(b, off, len);
+            chain.link();
+            return;
+        }
+        node.buffer.buffer().put(b, off, len);
+        release(node);
+    }
+
+    /**
+     * 按大端序写入数值的低size个字节，用于无法写入队尾内存块的情况
+     */
+    private void putBytes(long v, int size) {
+        Chain chain = new Chain();
+        for (int shift = (size - 1) << 3; shift >= 0; shift -= 8) {
+            chain.put((byte) (v >>> shift));
+        }
+        chain.link();
+    }
+
+    /**
+     * 校验写入条件，并累计本次写入的字节数
+     *
+     * @param size 本次写入的字节数
+     */
+    private void checkWrite(int size) throws IOException {
         if (closed) {
             throw new IOException("writeBuffer has closed");
         }
-        if (writeInBuf == null) {
-            writeInBuf = bufferPage.allocate(chunkSize);
+        acquire(size);
+    }
+
+    /**
+     * 占用队尾的内存块以追加写入
+     *
+     * @param size 本次写入的字节数
+     * @return 剩余空间足以容纳本次写入的内存块，无法占用时返回null
+     */
+    private Node claim(int size) {
+        for (int spins = 0; ; spins++) {
+            Node node = tail;
+            if (!node.chunk || node.buffer.buffer().remaining() < size) {
+                return null;
+            }
+            int state = node.state;
+            if (state == FREE && STATE_UPDATER.compareAndSet(node, FREE, CLAIMED)) {
+                //占用之前其他线程可能已写入数据
+                if (node.buffer.buffer().remaining() >= size) {
+                    return node;
+                }
+                release(node);
+                return null;
+            }
+            //其他线程的占用通常只持续一次内存拷贝，短暂自旋以免申请新的内存块导致数据过于分散
+            if (state == SEALED || spins == CLAIM_SPINS) {
+                return null;
+            }
         }
-        ByteBuffer writeBuffer = writeInBuf.buffer();
-        int remaining = writeBuffer.remaining();
-        if (remaining > len) {
-            writeBuffer.put(b, off, len);
+    }
+
+    /**
+     * 结束对内存块的占用，输出线程正在等待该内存块或内存块已写满时触发输出
+     */
+    private void release(Node node) {
+        boolean full = !node.buffer.buffer().hasRemaining();
+        if (STATE_UPDATER.compareAndSet(node, CLAIMED, FREE)) {
+            if (full) {
+                flush0();
+            }
         } else {
-            writeBuffer.put(b, off, remaining);
-            flushWriteBuffer(true);
-            if (len > remaining) {
-                write(b, off + remaining, len - remaining);
+            node.state = FREE;
+            flush0();
+        }
+    }
+
+    /**
+     * 将业务线程独占的节点链加入输出队列，链中存在写满的内存块时触发输出
+     */
+    private void link(Node first, Node last, int nodes) {
+        count.addAndGet(nodes);
+        Node prev = TAIL_UPDATER.getAndSet(this, last);
+        prev.next = first;
+        if (nodes > 1 || !last.buffer.buffer().hasRemaining() || closed) {
+            flush0();
+        }
+    }
+
+    /**
+     * 输出队列已满时等待输出线程腾出空间，WriteBuffer关闭时直接返回
+     */
+    private void awaitCapacity() {
+        if (count.get() < capacity) {
+            return;
+        }
+        waiters.incrementAndGet();
+        try {
+            //cork期间队列已满则无视cork，先行输出以免等待的线程无从唤醒
+            flush0();
+            synchronized (fullLock) {
+                while (count.get() >= capacity && !closed) {
+                    fullLock.wait();
+                }
             }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            waiters.decrementAndGet();
         }
     }
 
-    private Consumer<WriteBuffer> completionConsumer;
+    @Override
+    public void reserve(int size) throws IOException {
+        if (size < 1 || size > 8) {
+            throw new IllegalArgumentException("size: " + size);
+        }
+        if (reservedNode != null) {
+            throw new IllegalStateException("reserved bytes not backfilled");
+        }
+        checkWrite(size);
+        Node node = claim(size);
+        if (node != null) {
+            //在占用期间标记，输出线程封存内存块之后会再次确认
+            node.reserved = RESERVED;
+            ByteBuffer buffer = node.buffer.buffer();
+            reservedPosition = buffer.position();
+            reservedSize = size;
+            reservedNode = node;
+            for (int i = 0; i < size; i++) {
+                buffer.put((byte) 0);
+            }
+            release(node);
+            return;
+        }
+        Chain chain = new Chain();
+        ByteBuffer buffer = chain.buffer();
+        chain.last.reserved = RESERVED;
+        reservedPosition = buffer.position();
+        reservedSize = size;
+        reservedNode = chain.last;
+        //预留区域可能跨越内存块
+        for (int i = 0; i < size; i++) {
+            chain.put((byte) 0);
+        }
+        chain.link();
+    }
+
+    @Override
+    public int writtenSinceReserve() {
+        Node node = reservedNode;
+        if (node == null) {
+            throw new IllegalStateException("no reserved bytes");
+        }
+        //回填之前预留区域所在及其后的节点均不会被输出
+        int written = -reservedPosition - reservedSize;
+        for (; node != null; node = node.next) {
+            written += node.buffer.buffer().position();
+        }
+        return written;
+    }
+
+    @Override
+    public void backfill(long value) throws IOException {
+        if (closed) {
+            throw new IOException("writeBuffer has closed");
+        }
+        Node node = reservedNode;
+        if (node == null) {
+            throw new IllegalStateException("no reserved bytes");
+        }
+        reservedNode = null;
+        //预留区域依次位于node及其后的内存块中，以绝对位置写入，不影响后续数据
+        Node chunk = node;
+        int position = reservedPosition;
+        claimReserved(chunk);
+        for (int shift = (reservedSize - 1) << 3; shift >= 0; shift -= 8) {
+            if (position == chunk.buffer.buffer().position()) {
+                Node next = chunk.next;
+                release(chunk);
+                chunk = next;
+                claimReserved(chunk);
+                position = 0;
+            }
+            chunk.buffer.buffer().put(position++, (byte) (value >>> shift));
+        }
+        release(chunk);
+        //输出线程已在等待，或存在写满的内存块
+        if (RESERVED_UPDATER.getAndSet(node, 0) == AWAITED || node.next != null) {
+            flush0();
+        }
+    }
+
+    /**
+     * 回填前占用预留区域所在的内存块，以免与关闭时的释放并发
+     */
+    private void claimReserved(Node node) throws IOException {
+        while (!STATE_UPDATER.compareAndSet(node, FREE, CLAIMED)) {
+            if (closed && node.state == SEALED) {
+                throw new IOException("writeBuffer has closed");
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 附带回调或独立入队的写操作无法与预留区域保持顺序
+     */
+    private void checkReserved() {
+        if (reservedNode != null) {
+            throw new IllegalStateException("reserved bytes not backfilled");
+        }
+    }
 
     /**
      * 执行异步输出操作。
@@ -223,154 +778,534 @@ final class WriteBufferImpl extends OutputStream implements WriteBuffer {
      * @throws IOException           如果在写入过程中发生I/O错误。
      * @throws WritePendingException 如果已有写入操作未完成，此时再调用此方法会抛出此异常。
      */
-    public synchronized void write(byte[] bytes, int offset, int len, Consumer<WriteBuffer> consumer) throws IOException {
-        if (completionConsumer != null) {
+    public void write(byte[] bytes, int offset, int len, Consumer<WriteBuffer> consumer) throws IOException {
+        checkReserved();
+        if (!COMPLETION_UPDATER.compareAndSet(this, null, PENDING)) {
             throw new WritePendingException();
         }
-        this.completionConsumer = consumer;
-        write(bytes, offset, len);
-        flush();
+        try {
+            write(bytes, offset, len);
+        } catch (IOException | RuntimeException e) {
+            completionConsumer = null;
+            throw e;
+        }
+        completionConsumer = consumer;
+        flush0();
     }
 
-    public synchronized void write(byte[] bytes, Consumer<WriteBuffer> consumer) throws IOException {
+    public void write(byte[] bytes, Consumer<WriteBuffer> consumer) throws IOException {
         write(bytes, 0, bytes.length, consumer);
     }
 
-    public synchronized void transferFrom(ByteBuffer byteBuffer, Consumer<WriteBuffer> consumer) throws IOException {
+    public void transferFrom(ByteBuffer byteBuffer, Consumer<WriteBuffer> consumer) throws IOException {
         if (!byteBuffer.hasRemaining()) {
             throw new IllegalStateException("none remaining byteBuffer");
         }
-        if (writeInBuf != null && writeInBuf.buffer().position() > 0) {
-            flushWriteBuffer(true);
+        checkReserved();
+        if (!COMPLETION_UPDATER.compareAndSet(this, null, PENDING)) {
+            throw new WritePendingException();
+        }
+        try {
+            checkWrite(byteBuffer.remaining());
+        } catch (IOException | RuntimeException e) {
+            completionConsumer = null;
+            throw e;
+        }
+        offer(VirtualBuffer.wrap(byteBuffer));
+        completionConsumer = consumer;
+        flush0();
+    }
+
+    public void writeReference(ByteBuffer buffer, Consumer<ByteBuffer> release) throws IOException {
+        if (closed) {
+            throw new IOException("writeBuffer has closed");
+        }
+        checkReserved();
+        if (!buffer.hasRemaining()) {
+            release.accept(buffer);
+            return;
         }
-        if (completionConsumer != null) {
+        acquire(buffer.remaining());
+        offer(VirtualBuffer.wrap(buffer, release));
+    }
+
+    public void transferFrom(FileChannel channel, long position, long count, Consumer<WriteBuffer> consumer) throws IOException {
+        if (closed) {
+            throw new IOException("writeBuffer has closed");
+        }
+        if (position < 0 || count <= 0) {
+            throw new IllegalArgumentException("position: " + position + " ,count: " + count);
+        }
+        checkReserved();
+        if (!COMPLETION_UPDATER.compareAndSet(this, null, PENDING)) {
             throw new WritePendingException();
         }
-        if (writeInBuf != null && writeInBuf.buffer().position() > 0) {
-            throw new IllegalStateException();
+        FileRegion region = new FileRegion(channel, position, count);
+        this.fileRegion = region;
+        if (highWaterMark > 0) {
+            pendingFileBytes.addAndGet(count);
+        }
+        increasePending(count);
+        offer(region.signal);
+        completionConsumer = consumer;
+        flush0();
+    }
+
+    /**
+     * 将外部数据加入输出队列
+     */
+    private void offer(VirtualBuffer buffer) {
+        //未启用写水位线时输出队列容量有限
+        if (highWaterMark == 0) {
+            awaitCapacity();
+        }
+        Node node = new Node(buffer, false);
+        count.incrementAndGet();
+        Node prev = TAIL_UPDATER.getAndSet(this, node);
+        prev.next = node;
+        flush0();
+    }
+
+    /**
+     * 累计待输出字节数，超过高水位线时变为不可写
+     */
+    private void increasePending(long size) {
+        if (highWaterMark == 0) {
+            return;
+        }
+        if (pendingBytes.addAndGet(size) > highWaterMark) {
+            unwritable();
         }
-        this.completionConsumer = consumer;
-        VirtualBuffer wrap = VirtualBuffer.wrap(byteBuffer);
-        if (count == 0 && semaphore.tryAcquire()) {
-            writeConsumer.accept(wrap);
+    }
+
+    /**
+     * 累计本次写入的字节数。设置字节上限时，超出上限则变为不可写并拒绝写入
+     *
+     * @param size 本次写入的字节数
+     */
+    private void acquire(int size) {
+        if (limit == 0) {
+            increasePending(size);
             return;
         }
-        try {
-            while (count == items.length) {
-                this.wait();
-                //防止因close诱发内存泄露
-                if (closed) {
-                    return;
-                }
+        long pending;
+        do {
+            pending = pendingBytes.get();
+            if (pending - pendingFileBytes.get() + size > limit) {
+                unwritable();
+                throw new BufferOverflowException();
             }
+        } while (!pendingBytes.compareAndSet(pending, pending + size));
+        if (pending + size > highWaterMark) {
+            unwritable();
+        }
+    }
+
+    private void unwritable() {
+        if (!writable.compareAndSet(true, false)) {
+            return;
+        }
+        writabilityListener.run();
+        //written在writable置为false之前完成了扣减，由此处补偿恢复
+        if (pendingBytes.get() <= lowWaterMark && writable.compareAndSet(false, true)) {
+            writabilityListener.run();
+        }
+    }
 
-            items[putIndex] = wrap;
-            if (++putIndex == items.length) {
-                putIndex = 0;
+    /**
+     * 数据输出完毕，回落至低水位线时恢复可写
+     *
+     * @param size 本次输出的字节数
+     */
+    void written(long size) {
+        if (highWaterMark == 0) {
+            return;
+        }
+        if (pendingBytes.addAndGet(-size) <= lowWaterMark && writable.compareAndSet(false, true)) {
+            writabilityListener.run();
+            //恢复可写之前已有写入超过高水位线，由此处补偿
+            if (pendingBytes.get() > highWaterMark) {
+                unwritable();
             }
-            count++;
-        } catch (InterruptedException e1) {
-            throw new RuntimeException(e1);
-        } finally {
-            flush();
         }
     }
 
     /**
-     * 初始化8字节的缓存数值
+     * 文件数据输出完毕
+     *
+     * @param size 本次输出的文件字节数
      */
-    private void initCacheBytes() {
-        if (cacheByte == null) {
-            cacheByte = new byte[8];
+    void transferred(long size) {
+        written(size);
+        if (highWaterMark > 0) {
+            pendingFileBytes.addAndGet(-size);
         }
     }
 
+    boolean isWritable() {
+        return writable.get();
+    }
+
     @Override
     public void flush() {
         if (closed) {
             throw new RuntimeException("OutputStream has closed");
         }
         //快速检测，无数据时直接返回
-        if (count == 0 && writeInBuf == null) {
+        if (isCorked() || head.next == null && completionConsumer == null) {
             return;
         }
-        if (semaphore.tryAcquire()) {
-            VirtualBuffer virtualBuffer = poll();
-            if (virtualBuffer == null) {
-                semaphore.release();
+        flush0();
+    }
+
+    /**
+     * 获取输出权并输出队头的数据，WriteBuffer已关闭时则释放队列中的数据
+     */
+    private void flush0() {
+        //先读后CAS，输出进行中时避免争抢同一缓存行
+        while (owner == 0 && OWNER_UPDATER.compareAndSet(this, 0, 1)) {
+            if (closed) {
+                clear();
             } else {
-                writeConsumer.accept(virtualBuffer);
+                VirtualBuffer virtualBuffer = poll();
+                if (virtualBuffer != null) {
+                    writeConsumer.accept(virtualBuffer);
+                    return;
+                }
+            }
+            owner = 0;
+            //释放输出权之前已有数据就绪，但就绪的线程未能获得输出权
+            if (!ready()) {
+                return;
             }
         }
     }
 
+    /**
+     * 释放输出权之后，是否仍有可输出的数据或待触发的完成回调
+     */
+    private boolean ready() {
+        Node next = head.next;
+        if (closed) {
+            return next != null && next.state == FREE;
+        }
+        if (isCorked()) {
+            return false;
+        }
+        if (next == null) {
+            Consumer<WriteBuffer> consumer = completionConsumer;
+            return consumer != null && consumer != PENDING;
+        }
+        //被占用的内存块结束占用、预留区域回填时会再次触发输出
+        return next.state == FREE && next.reserved == 0;
+    }
+
     @Override
-    public synchronized void close() {
+    public void cork() {
+        CORKED_UPDATER.incrementAndGet(this);
+    }
+
+    @Override
+    public void uncork() {
+        int c;
+        do {
+            c = corked;
+            if (c == 0) {
+                throw new IllegalStateException("writeBuffer is not corked");
+            }
+        } while (!CORKED_UPDATER.compareAndSet(this, c, c - 1));
+        if (c == 1) {
+            flush0();
+        }
+    }
+
+    /**
+     * 是否暂存已就绪的数据。未启用写水位线时队列容量有限，队列已满则无视cork，以免写入线程永久阻塞
+     */
+    private boolean isCorked() {
+        return corked > 0 && (highWaterMark > 0 || count.get() < capacity);
+    }
+
+    @Override
+    public void close() {
         if (closed) {
             return;
         }
-        flush();
+        flush0();
         closed = true;
-        if (writeInBuf != null) {
-            writeInBuf.clean();
-            writeInBuf = null;
-        }
-        VirtualBuffer byteBuf;
-        while ((byteBuf = poll()) != null) {
-            byteBuf.clean();
+        reservedNode = null;
+        fileRegion = null;
+        //唤醒因队列已满而等待的业务线程
+        synchronized (fullLock) {
+            fullLock.notifyAll();
         }
+        //输出进行中则由本轮输出结束时释放
+        flush0();
     }
 
+    /**
+     * 释放输出队列中的数据，仅由持有输出权的线程调用。被占用的内存块由占用方结束占用时再次释放
+     */
+    private void clear() {
+        Node next;
+        while ((next = head.next) != null && seal(next)) {
+            head = next;
+            count.decrementAndGet();
+            next.buffer.clean();
+        }
+    }
 
     /**
      * 是否存在待输出的数据
      *
      * @return true:有,false:无
      */
-    synchronized boolean isEmpty() {
-        return count == 0 && (writeInBuf == null || writeInBuf.buffer().position() == 0);
+    boolean isEmpty() {
+        return head == tail && reservedNode == null;
     }
 
+    /**
+     * 本轮输出结束
+     */
     void finishWrite() {
-        semaphore.release();
+        owner = 0;
+        //输出期间WriteBuffer被关闭，由此处释放队列中剩余的数据
+        if (closed) {
+            flush0();
+        }
+    }
+
+    /**
+     * @return 尚未输出完毕的文件区间
+     */
+    FileRegion fileRegion() {
+        return fileRegion;
     }
 
-    private VirtualBuffer pollItem() {
-        if (count == 0) {
+    /**
+     * 文件区间输出完毕
+     */
+    void finishTransfer() {
+        fileRegion = null;
+    }
+
+    /**
+     * 申请写缓冲区，用于不支持零拷贝时分段读取文件
+     */
+    VirtualBuffer allocate(int size) {
+        return bufferPage.allocate(size);
+    }
+
+    /**
+     * 封存队头的节点，此后业务线程不可再写入
+     *
+     * @return 节点正被占用或预留区域尚未回填时返回false，占用结束、回填时将再次触发输出
+     */
+    private boolean seal(Node node) {
+        if (!closed && holdReserved(node)) {
+            return false;
+        }
+        while (true) {
+            switch (node.state) {
+                case FREE:
+                    if (STATE_UPDATER.compareAndSet(node, FREE, SEALED)) {
+                        //预留区域在业务线程占用内存块期间标记，封存之后再次确认
+                        if (closed || !holdReserved(node)) {
+                            return true;
+                        }
+                        node.state = FREE;
+                        return false;
+                    }
+                    break;
+                case CLAIMED:
+                    if (STATE_UPDATER.compareAndSet(node, CLAIMED, AWAITED)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * 节点中存在尚未回填的预留区域时登记等待
+     */
+    private static boolean holdReserved(Node node) {
+        int reserved;
+        while ((reserved = node.reserved) == RESERVED) {
+            if (RESERVED_UPDATER.compareAndSet(node, RESERVED, AWAITED)) {
+                return true;
+            }
+        }
+        return reserved == AWAITED;
+    }
+
+    /**
+     * 取出队头的数据，仅由持有输出权的线程调用
+     *
+     * @param batch 是否为聚集写批量取出，文件区间需单独输出
+     */
+    private VirtualBuffer take(boolean batch) {
+        Node next = head.next;
+        if (next == null) {
+            return null;
+        }
+        if (batch && !next.chunk) {
+            FileRegion region = fileRegion;
+            if (region != null && next.buffer == region.signal) {
+                return null;
+            }
+        }
+        if (!seal(next)) {
             return null;
         }
-        VirtualBuffer x = items[takeIndex];
-        items[takeIndex] = null;
-        if (++takeIndex == items.length) {
-            takeIndex = 0;
+        head = next;
+        //队列由满转为未满时唤醒等待的业务线程
+        if (count.decrementAndGet() == capacity - 1 && waiters.get() > 0) {
+            synchronized (fullLock) {
+                fullLock.notifyAll();
+            }
         }
-        if (count-- == items.length) {
-            this.notifyAll();
+        VirtualBuffer buffer = next.buffer;
+        if (next.chunk) {
+            buffer.buffer().flip();
         }
-        return x;
+        return buffer;
     }
 
     /**
-     * 获取并移除当前缓冲队列中头部的VirtualBuffer
+     * 将缓冲队列中待输出的数据批量转移至dst，用于聚集写。
+     * <p>与{@link #poll()}不同，队列为空时不会触发write回调，该回调仍由本轮输出结束后的poll触发</p>
+     *
+     * @param dst    目标数组
+     * @param offset 起始下标
+     * @return 转移的VirtualBuffer数量
+     */
+    int drain(VirtualBuffer[] dst, int offset) {
+        //cork期间数据留待uncork时输出
+        if (closed || isCorked()) {
+            return 0;
+        }
+        int index = offset;
+        VirtualBuffer buffer;
+        while (index < dst.length && (buffer = take(true)) != null) {
+            dst[index++] = buffer;
+        }
+        return index - offset;
+    }
+
+    /**
+     * 获取并移除当前缓冲队列中头部的VirtualBuffer，队列为空时触发write回调
      *
      * @return 待输出的VirtualBuffer
      */
-    synchronized VirtualBuffer poll() {
-        VirtualBuffer item = pollItem();
-        if (item != null) {
-            return item;
-        }
-        if (writeInBuf != null) {
-            writeInBuf.buffer().flip();
-            VirtualBuffer buffer = writeInBuf;
-            writeInBuf = null;
-            return buffer;
-        } else if (completionConsumer != null) {
-            Consumer<WriteBuffer> consumer = completionConsumer;
-            this.completionConsumer = null;
+    VirtualBuffer poll() {
+        //cork期间数据留待uncork时输出
+        if (closed || isCorked()) {
+            return null;
+        }
+        VirtualBuffer buffer = take(false);
+        if (buffer == null) {
+            complete();
+        }
+        return buffer;
+    }
+
+    /**
+     * 触发write回调。回调在数据入队之后设置，读取回调之后需再次确认队列为空
+     */
+    private void complete() {
+        Consumer<WriteBuffer> consumer = completionConsumer;
+        if (consumer != null && consumer != PENDING && head.next == null && COMPLETION_UPDATER.compareAndSet(this, consumer, null)) {
             consumer.accept(this);
         }
-        return null;
     }
 
-}
\ No newline at end of file
+    /**
+     * 业务线程独占的节点链，写入完毕后一次性链接至队尾，保证单次写入的数据连续
+     */
+    private final class Chain {
+        private Node first;
+        private Node last;
+        private int nodes;
+
+        /**
+         * @return 链尾的内存块，已写满时申请新的内存块
+         */
+        ByteBuffer buffer() {
+            if (last == null || !last.buffer.buffer().hasRemaining()) {
+                append();
+            }
+            return last.buffer.buffer();
+        }
+
+        private void append() {
+            //未启用写水位线时输出队列容量有限，队列将满时先行链接并等待输出；预留区域回填之前数据无法输出，不等待
+            if (highWaterMark == 0 && reservedNode == null && count.get() + nodes >= capacity) {
+                link();
+                awaitCapacity();
+            }
+            Node node = new Node(bufferPage.allocate(chunkSize), true);
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            nodes++;
+        }
+
+        void put(byte b) {
+            buffer().put(b);
+        }
+
+        void put(byte[] b, int off, int len) {
+            while (len > 0) {
+                ByteBuffer buffer = buffer();
+                int size = Math.min(buffer.remaining(), len);
+                buffer.put(b, off, size);
+                off += size;
+                len -= size;
+            }
+        }
+
+        void link() {
+            if (first == null) {
+                return;
+            }
+            WriteBufferImpl.this.link(first, last, nodes);
+            first = null;
+            last = null;
+            nodes = 0;
+        }
+    }
+
+    /**
+     * 输出队列的节点
+     */
+    private static final class Node {
+        /**
+         * 节点中待输出的数据
+         */
+        final VirtualBuffer buffer;
+        /**
+         * 是否为可追加写入的内存块，否则为外部数据或文件区间的占位缓冲区
+         */
+        final boolean chunk;
+        /**
+         * 内存块的占用状态
+         */
+        volatile int state;
+        /**
+         * 预留区域的回填状态，0表示不存在尚未回填的预留区域
+         */
+        volatile int reserved;
+        volatile Node next;
+
+        Node(VirtualBuffer buffer, boolean chunk) {
+            this.buffer = buffer;
+            this.chunk = chunk;
+        }
+    }
+}
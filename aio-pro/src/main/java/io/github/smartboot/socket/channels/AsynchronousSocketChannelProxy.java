@@ -9,12 +9,16 @@
 
 package io.github.smartboot.socket.channels;
 
+import io.github.smartboot.socket.enhance.EnhanceChannel;
+import io.github.smartboot.socket.enhance.ScheduledTask;
+
 import java.io.IOException;
 import java.net.SocketAddress;
 import java.net.SocketOption;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -23,7 +27,7 @@ import java.util.concurrent.TimeUnit;
  * @author 三刀（zhengjunweimail@163.com）
  * @version V1.0 , 2021/6/2
  */
-public class AsynchronousSocketChannelProxy extends AsynchronousSocketChannel {
+public class AsynchronousSocketChannelProxy extends AsynchronousSocketChannel implements EnhanceChannel {
     protected final AsynchronousSocketChannel asynchronousSocketChannel;
 
     public AsynchronousSocketChannelProxy(AsynchronousSocketChannel asynchronousSocketChannel) {
@@ -120,4 +124,36 @@ public class AsynchronousSocketChannelProxy extends AsynchronousSocketChannel {
     public void close() throws IOException {
         asynchronousSocketChannel.close();
     }
+
+    @Override
+    public void execute(Runnable task) {
+        enhanceChannel().execute(task);
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delay, TimeUnit unit) {
+        return enhanceChannel().schedule(task, delay, unit);
+    }
+
+    @Override
+    public boolean inEventLoop() {
+        return enhanceChannel().inEventLoop();
+    }
+
+    @Override
+    public void addShutdownHook(Runnable hook) {
+        enhanceChannel().addShutdownHook(hook);
+    }
+
+    @Override
+    public <A> void transferFrom(FileChannel src, long position, long count, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+        enhanceChannel().transferFrom(src, position, count, timeout, unit, attachment, handler);
+    }
+
+    private EnhanceChannel enhanceChannel() {
+        if (asynchronousSocketChannel instanceof EnhanceChannel) {
+            return (EnhanceChannel) asynchronousSocketChannel;
+        }
+        throw new UnsupportedOperationException(asynchronousSocketChannel.getClass().getName() + " is not an EnhanceChannel");
+    }
 }
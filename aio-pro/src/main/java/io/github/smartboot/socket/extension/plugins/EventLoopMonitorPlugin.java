@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: EventLoopMonitorPlugin.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.extension.plugins;
+
+import io.github.smartboot.socket.Plugin;
+import io.github.smartboot.socket.enhance.WorkerStatistics;
+import io.github.smartboot.socket.timer.HashedWheelTimer;
+import io.github.smartboot.socket.timer.TimerTask;
+import io.github.smartboot.socket.transport.AioQuickServer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件循环监测插件，周期性输出各IO线程的繁忙程度。
+ * <p>
+ * 输出项包括：循环次数、事件数、处理耗时占比(busy)、单轮平均/最大就绪key数、
+ * 任务队列当前/最大深度、最大回调耗时以及单轮最大处理耗时(loop lag)。
+ * busy接近100%或最大回调耗时偏大，说明该线程已饱和或存在阻塞的业务处理。
+ * </p>
+ * 构造该插件时会自动为服务端启用事件循环指标采集，须在服务端启动前完成。
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public final class EventLoopMonitorPlugin<T> implements Plugin<T>, Runnable {
+    /**
+     * 任务执行频率
+     */
+    private final int seconds;
+
+    private final AioQuickServer server;
+    /**
+     * 上一周期的累计值：loopCount, eventCount, selectNanos, processNanos
+     */
+    private final Map<String, long[]> lastSnapshot = new HashMap<>();
+
+    private final TimerTask future;
+
+    public EventLoopMonitorPlugin(AioQuickServer server) {
+        this(server, 60);
+    }
+
+    public EventLoopMonitorPlugin(AioQuickServer server, int seconds) {
+        this.seconds = seconds;
+        this.server = server;
+        server.enableEventLoopMetrics();
+        future = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(this, seconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void run() {
+        List<WorkerStatistics> statistics = server.getWorkerStatistics();
+        if (statistics.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("\r\n-----" + seconds + "seconds event loop ----");
+        for (WorkerStatistics worker : statistics) {
+            long[] current = {worker.loopCount(), worker.eventCount(), worker.selectNanos(), worker.processNanos(), worker.directReadHitCount(), worker.directReadMissCount()};
+            long[] last = lastSnapshot.put(worker.name(), current);
+            if (last == null) {
+                last = new long[current.length];
+            }
+            long loops = current[0] - last[0];
+            long events = current[1] - last[1];
+            long selectNanos = current[2] - last[2];
+            long processNanos = current[3] - last[3];
+            long directReadHits = current[4] - last[4];
+            long directReadMisses = current[5] - last[5];
+            long total = selectNanos + processNanos;
+            sb.append("\r\n").append(worker.name())
+                    .append("\tloops:").append(loops)
+                    .append("\tevents:").append(events)
+                    .append("\tbusy:").append(total == 0 ? 0 : processNanos * 100 / total).append('%')
+                    .append("\tkeys/loop:").append(loops == 0 ? 0 : events / loops).append('/').append(worker.maxKeysPerLoop())
+                    .append("\ttaskQueue:").append(worker.taskQueueDepth()).append('/').append(worker.maxTaskQueueDepth())
+                    .append("\tmaxCallback:").append(TimeUnit.NANOSECONDS.toMicros(worker.maxCallbackNanos())).append("us")
+                    .append("\tmaxLoop:").append(TimeUnit.NANOSECONDS.toMicros(worker.maxLoopNanos())).append("us")
+                    .append("\tdirectRead hit/miss:").append(directReadHits).append('/').append(directReadMisses)
+                    .append("\tconnections:").append(worker.connectionCount());
+            worker.resetMaxValues();
+        }
+        System.out.println(sb);
+    }
+
+    /**
+     * 停止监测
+     */
+    public void shutdown() {
+        future.cancel();
+    }
+}
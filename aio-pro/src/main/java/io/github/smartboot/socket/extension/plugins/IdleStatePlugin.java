@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -93,6 +94,14 @@ public final class IdleStatePlugin<T> implements Plugin<T> {
             super.read(dst, timeout, unit, attachment, handler);
         }
 
+        @Override
+        public <A> void read(ByteBuffer[] dsts, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            if (IdleStatePlugin.this.readMonitor) {
+                readTimestamp = System.currentTimeMillis();
+            }
+            super.read(dsts, offset, length, timeout, unit, attachment, handler);
+        }
+
         @Override
         public <A> void write(ByteBuffer src, long timeout, TimeUnit unit, A attachment, CompletionHandler<Integer, ? super A> handler) {
             if (IdleStatePlugin.this.writeMonitor) {
@@ -101,6 +110,22 @@ public final class IdleStatePlugin<T> implements Plugin<T> {
             super.write(src, timeout, unit, attachment, handler);
         }
 
+        @Override
+        public <A> void write(ByteBuffer[] srcs, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            if (IdleStatePlugin.this.writeMonitor) {
+                writeTimestamp = System.currentTimeMillis();
+            }
+            super.write(srcs, offset, length, timeout, unit, attachment, handler);
+        }
+
+        @Override
+        public <A> void transferFrom(FileChannel src, long position, long count, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            if (IdleStatePlugin.this.writeMonitor) {
+                writeTimestamp = System.currentTimeMillis();
+            }
+            super.transferFrom(src, position, count, timeout, unit, attachment, handler);
+        }
+
         @Override
         public void close() throws IOException {
             task.cancel();
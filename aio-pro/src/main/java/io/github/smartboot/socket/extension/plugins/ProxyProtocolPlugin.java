@@ -118,6 +118,15 @@ public class ProxyProtocolPlugin<T> implements Plugin<T> {
 
         }
 
+        @Override
+        public <A> void read(ByteBuffer[] dsts, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            //Proxy Protocol头部解析完毕前仅支持单缓冲区读
+            if (state != STATE_READY) {
+                throw new UnsupportedOperationException();
+            }
+            super.read(dsts, offset, length, timeout, unit, attachment, handler);
+        }
+
         private Exception decodeProxyProtocol(ByteBuffer buffer) {
             switch (state) {
                 case STATE_PROXY_SIGN: {
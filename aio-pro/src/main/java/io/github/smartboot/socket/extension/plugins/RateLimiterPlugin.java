@@ -15,6 +15,7 @@ import io.github.smartboot.socket.channels.AsynchronousSocketChannelProxy;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -181,5 +182,29 @@ public class RateLimiterPlugin<T> implements Plugin<T> {
                 }
             });
         }
+
+        /**
+         * 不支持分散读，以便实施流控
+         */
+        @Override
+        public <A> void read(ByteBuffer[] dsts, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * 不支持聚集写，由会话退化为逐个缓冲区输出，以便实施流控
+         */
+        @Override
+        public <A> void write(ByteBuffer[] srcs, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * 不支持零拷贝输出文件，由会话退化为分段读入写缓冲区输出，以便实施流控
+         */
+        @Override
+        public <A> void transferFrom(FileChannel src, long position, long count, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
     }
 }
@@ -18,6 +18,7 @@ import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Objects;
@@ -158,6 +159,30 @@ public class StreamMonitorPlugin<T> implements Plugin<T> {
             super.write(src, timeout, unit, attachment, new MonitorCompletionHandler<>(this, handler, outputStreamConsumer, src));
         }
 
+        /**
+         * 不支持分散读，以便完整监听输入流
+         */
+        @Override
+        public <A> void read(ByteBuffer[] dsts, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * 不支持聚集写，由会话退化为逐个缓冲区输出，以便完整监听输出流
+         */
+        @Override
+        public <A> void write(ByteBuffer[] srcs, int offset, int length, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * 不支持零拷贝输出文件，由会话退化为分段读入写缓冲区输出，以便完整监听输出流
+         */
+        @Override
+        public <A> void transferFrom(FileChannel src, long position, long count, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public Future<Integer> read(ByteBuffer dst) {
             Future<Integer> future = super.read(dst);
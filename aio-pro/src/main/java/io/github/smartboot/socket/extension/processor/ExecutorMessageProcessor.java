@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: ExecutorMessageProcessor.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.extension.processor;
+
+import io.github.smartboot.socket.MessageProcessor;
+import io.github.smartboot.socket.StateMachineEnum;
+import io.github.smartboot.socket.transport.AioSession;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 业务线程池分发模式的消息处理器。
+ * <p>
+ * 默认情况下{@link MessageProcessor#process(AioSession, Object)}在IO线程中执行，
+ * 一旦业务处理发生阻塞，同一个Selector上的其他连接都会受到影响。
+ * 本处理器将解码后的消息交由业务线程池处理，并自动完成背压控制：
+ * <ol>
+ *     <li>IO线程解码出消息后调用{@link AioSession#awaitRead()}暂停该会话的读取与解码</li>
+ *     <li>业务线程执行被代理的处理器</li>
+ *     <li>处理完成后通过{@link AioSession#execute(Runnable)}切回IO线程调用{@link AioSession#signalRead()}，继续解码下一个消息</li>
+ * </ol>
+ * 同一会话同时只有一个消息在处理中，天然保证了会话内的消息顺序，
+ * 处理慢的会话也只会暂停自身的读取，不会堆积消息。
+ * </p>
+ * <p>
+ * 未指定线程池时，JDK21及以上版本使用虚拟线程，低版本则使用按会话分片的固定线程池，
+ * 分片线程池在首个会话所属的异步通道组关闭时一并关闭，此后的会话将重新创建。
+ * 状态机事件依旧在IO线程中同步回调，因此业务处理期间可能收到会话关闭等事件。
+ * </p>
+ * <pre>
+ * new AioQuickServer(8080, protocol, new ExecutorMessageProcessor&lt;&gt;(processor)).start();
+ * </pre>
+ *
+ * @param <T> 消息对象实体类型
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public final class ExecutorMessageProcessor<T> implements MessageProcessor<T> {
+    private final MessageProcessor<T> processor;
+    /**
+     * 业务线程池，为空时使用分片线程池
+     */
+    private final Executor executor;
+    /**
+     * 分片线程池，同一会话固定由其中一个线程处理，未启用或已随通道组关闭时为null
+     */
+    private volatile ExecutorService[] stripes;
+
+    /**
+     * 使用默认的业务线程池：优先采用虚拟线程，否则使用CPU核数2倍的分片线程池
+     *
+     * @param processor 被代理的消息处理器
+     */
+    public ExecutorMessageProcessor(MessageProcessor<T> processor) {
+        this.processor = processor;
+        this.executor = newVirtualThreadExecutor();
+    }
+
+    /**
+     * @param processor 被代理的消息处理器
+     * @param executor  业务线程池
+     */
+    public ExecutorMessageProcessor(MessageProcessor<T> processor, Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
+        this.processor = processor;
+        this.executor = executor;
+    }
+
+    @Override
+    public void process(AioSession session, T msg) {
+        //先暂停读取，避免业务线程提前完成并恢复读取时与当前解码循环并发
+        session.awaitRead();
+        Runnable task = () -> {
+            try {
+                processor.process(session, msg);
+            } catch (Throwable e) {
+                processor.stateEvent(session, StateMachineEnum.PROCESS_EXCEPTION, e);
+            } finally {
+                resume(session);
+            }
+        };
+        try {
+            if (executor != null) {
+                executor.execute(task);
+            } else {
+                ExecutorService[] stripes = this.stripes;
+                if (stripes == null) {
+                    stripes = createStripes(session);
+                }
+                stripes[(System.identityHashCode(session) & Integer.MAX_VALUE) % stripes.length].execute(task);
+            }
+        } catch (RejectedExecutionException e) {
+            processor.stateEvent(session, StateMachineEnum.PROCESS_EXCEPTION, e);
+            session.close();
+        }
+    }
+
+    /**
+     * 切回IO线程继续解码，通道不支持时退化为在当前线程恢复读取
+     */
+    private void resume(AioSession session) {
+        try {
+            session.execute(session::signalRead);
+        } catch (UnsupportedOperationException e) {
+            session.signalRead();
+        } catch (RejectedExecutionException ignored) {
+            //异步通道组已关闭
+        }
+    }
+
+    @Override
+    public void stateEvent(AioSession session, StateMachineEnum stateMachineEnum, Throwable throwable) {
+        processor.stateEvent(session, stateMachineEnum, throwable);
+    }
+
+    /**
+     * 通过反射创建虚拟线程池，兼容以Java8为编译目标的构建
+     *
+     * @return 虚拟线程池，JDK21以下版本返回null
+     */
+    private static Executor newVirtualThreadExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * 创建分片线程池，并在会话所属的异步通道组关闭时一并关闭
+     */
+    private synchronized ExecutorService[] createStripes(AioSession session) {
+        if (stripes != null) {
+            return stripes;
+        }
+        ExecutorService[] stripes = newStripes(Runtime.getRuntime().availableProcessors() * 2);
+        this.stripes = stripes;
+        try {
+            session.addShutdownHook(() -> shutdownStripes(stripes));
+        } catch (UnsupportedOperationException ignored) {
+            //通道不支持时只能随JVM退出
+        }
+        return stripes;
+    }
+
+    private synchronized void shutdownStripes(ExecutorService[] stripes) {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        if (this.stripes == stripes) {
+            this.stripes = null;
+        }
+    }
+
+    private static ExecutorService[] newStripes(int num) {
+        ExecutorService[] stripes = new ExecutorService[num];
+        for (int i = 0; i < num; i++) {
+            final int index = i;
+            stripes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "smart-socket:business-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return stripes;
+    }
+}
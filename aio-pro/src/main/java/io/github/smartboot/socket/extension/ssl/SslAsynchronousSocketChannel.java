@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
@@ -353,6 +354,11 @@ public class SslAsynchronousSocketChannel extends AsynchronousSocketChannelProxy
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public <A> void transferFrom(FileChannel src, long position, long count, long timeout, TimeUnit unit, A attachment, CompletionHandler<Long, ? super A> handler) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public void close() throws IOException {
         if (closed) {
@@ -0,0 +1,731 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: WriteBufferImplTest.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.transport;
+
+import io.github.smartboot.socket.buffer.BufferPagePool;
+import io.github.smartboot.socket.buffer.VirtualBuffer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * @author 三刀（zhengjunweimail@163.com）
+ * @version V1.0 , 2026/10/18
+ */
+public class WriteBufferImplTest {
+    private BufferPagePool pool;
+    private BufferPagePool directPool;
+
+    @Before
+    public void init() {
+        pool = new BufferPagePool(1, false);
+        directPool = new BufferPagePool(1, true);
+    }
+
+    @After
+    public void release() {
+        pool.release();
+        directPool.release();
+    }
+
+    /**
+     * 多个业务线程并发写入，同一时刻仅允许一个输出中的缓冲区，且各线程的数据保持写入顺序。
+     * <p>启用写水位线以免业务线程在写入中途等待队列空间，等待前已写入的部分先行入队，跨越内存块的数据可能与其他线程的写入交错</p>
+     */
+    @Test(timeout = 30000)
+    public void testFlushOwnership() throws Exception {
+        int producers = 4;
+        int records = 20000;
+        AsyncSink sink = new AsyncSink();
+        WriteBufferImpl writeBuffer = new WriteBufferImpl(pool, sink, 64, 4, 1024, 4096, 0, () -> {
+        });
+        sink.writeBuffer = writeBuffer;
+        Thread io = new Thread(sink);
+        io.start();
+
+        Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            int id = i;
+            threads[i] = new Thread(() -> {
+                byte[] record = new byte[8];
+                for (int seq = 0; seq < records; seq++) {
+                    ByteBuffer.wrap(record).putInt(id).putInt(seq);
+                    try {
+                        writeBuffer.write(record);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    if (seq % 64 == 0) {
+                        writeBuffer.flush();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writeBuffer.flush();
+        byte[] bytes = sink.await(producers * records * 8);
+        sink.stop(io);
+
+        Assert.assertFalse("concurrent write rounds", sink.overlapped);
+        Assert.assertEquals(producers * records * 8, bytes.length);
+        int[] next = new int[producers];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            int id = buffer.getInt();
+            Assert.assertEquals(next[id]++, buffer.getInt());
+        }
+        for (int count : next) {
+            Assert.assertEquals(records, count);
+        }
+    }
+
+    /**
+     * 多个业务线程并发写入跨越内存块的数据，单次写入的数据在输出流中保持连续
+     */
+    @Test(timeout = 30000)
+    public void testWriteAtomicity() throws Exception {
+        int producers = 4;
+        int records = 5000;
+        int recordSize = 96;
+        AsyncSink sink = new AsyncSink();
+        WriteBufferImpl writeBuffer = new WriteBufferImpl(pool, sink, 16, 4, 1024, 4096, 0, () -> {
+        });
+        sink.writeBuffer = writeBuffer;
+        Thread io = new Thread(sink);
+        io.start();
+
+        Thread[] threads = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            int id = i;
+            threads[i] = new Thread(() -> {
+                ByteBuffer record = ByteBuffer.allocate(recordSize);
+                for (int seq = 0; seq < records; seq++) {
+                    record.clear();
+                    while (record.hasRemaining()) {
+                        record.putInt(id).putInt(seq);
+                    }
+                    try {
+                        writeBuffer.write(record.array());
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    if (seq % 16 == 0) {
+                        writeBuffer.flush();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writeBuffer.flush();
+        byte[] bytes = sink.await(producers * records * recordSize);
+        sink.stop(io);
+
+        Assert.assertEquals(producers * records * recordSize, bytes.length);
+        int[] next = new int[producers];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            int id = buffer.getInt();
+            int seq = buffer.getInt();
+            Assert.assertEquals(next[id]++, seq);
+            for (int i = 8; i < recordSize; i += 8) {
+                Assert.assertEquals(id, buffer.getInt());
+                Assert.assertEquals(seq, buffer.getInt());
+            }
+        }
+        for (int count : next) {
+            Assert.assertEquals(records, count);
+        }
+    }
+
+    /**
+     * 未启用写水位线时，队列已满将阻塞业务线程直至输出线程腾出空间
+     */
+    @Test(timeout = 30000)
+    public void testBlockingQueue() throws Exception {
+        AsyncSink sink = new AsyncSink();
+        WriteBufferImpl writeBuffer = new WriteBufferImpl(pool, sink, 16, 2);
+        sink.writeBuffer = writeBuffer;
+        Thread io = new Thread(sink);
+        io.start();
+        ByteArrayOutputStream expect = new ByteArrayOutputStream();
+        byte[] record = new byte[7];
+        for (int i = 0; i < 10000; i++) {
+            ByteBuffer.wrap(record).put((byte) i).putShort((short) i).putInt(i);
+            writeBuffer.write(record);
+            expect.write(record);
+            if (i % 100 == 0) {
+                writeBuffer.flush();
+            }
+        }
+        writeBuffer.flush();
+        byte[] bytes = sink.await(expect.size());
+        sink.stop(io);
+        Assert.assertArrayEquals(expect.toByteArray(), bytes);
+    }
+
+    /**
+     * 启用写水位线后输出队列扩容，输出停滞时业务线程不会阻塞
+     */
+    @Test(timeout = 10000)
+    public void testWaterMarkGrowsQueue() throws Exception {
+        AsyncSink sink = new AsyncSink();
+        WriteBufferImpl writeBuffer = new WriteBufferImpl(pool, sink, 16, 2, 512, 1024, 0, () -> {
+        });
+        sink.writeBuffer = writeBuffer;
+        byte[] data = sequence(16 * 100);
+        //输出线程尚未启动，队列已满仍可继续写入
+        writeBuffer.write(data);
+        Assert.assertFalse(writeBuffer.isWritable());
+
+        Thread io = new Thread(sink);
+        io.start();
+        byte[] bytes = sink.await(data.length);
+        sink.stop(io);
+        Assert.assertArrayEquals(data, bytes);
+    }
+
+    /**
+     * 可写状态变化的回调不持有WriteBuffer的锁，回调中可直接写入
+     */
+    @Test(timeout = 10000)
+    public void testWritabilityListenerWithoutLock() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl[] writeBuffers = new WriteBufferImpl[1];
+        List<Boolean> states = new ArrayList<>();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = writeBuffers[0] = new WriteBufferImpl(pool, sink, 16, 2, 32, 64, 0, () -> {
+            WriteBufferImpl w = writeBuffers[0];
+            Assert.assertFalse(Thread.holdsLock(w));
+            states.add(w.isWritable());
+            w.write(w.isWritable() ? 'w' : 'u');
+        });
+        //超过高水位线，回调中的写入先于本次数据入队
+        writeBuffer.write(sequence(100));
+        writeBuffer.flush();
+        Assert.assertEquals(Arrays.asList(false), states);
+        //数据输出完毕回落至低水位线
+        writeBuffer.written(101);
+        writeBuffer.flush();
+        Assert.assertEquals(Arrays.asList(false, true), states);
+        Assert.assertTrue(writeBuffer.isWritable());
+
+        ByteArrayOutputStream expect = new ByteArrayOutputStream();
+        expect.write('u');
+        expect.write(sequence(100));
+        expect.write('w');
+        Assert.assertArrayEquals(expect.toByteArray(), sink.out.toByteArray());
+    }
+
+    /**
+     * 文件区间不占用写缓冲区，传输大文件期间小数据写入不受字节上限限制
+     */
+    @Test(timeout = 10000)
+    public void testFileTransferNotLimited() throws Exception {
+        File file = File.createTempFile("writeBuffer", ".dat");
+        file.deleteOnExit();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(1 << 20);
+            AsyncSink sink = new AsyncSink();
+            WriteBufferImpl writeBuffer = new WriteBufferImpl(pool, sink, 16, 4, 256, 512, 1024, () -> {
+            });
+            sink.writeBuffer = writeBuffer;
+            //输出线程尚未启动，文件区间保持待输出
+            writeBuffer.transferFrom(randomAccessFile.getChannel(), 0, 1 << 20, null);
+            Assert.assertFalse(writeBuffer.isWritable());
+            for (int i = 0; i < 10; i++) {
+                writeBuffer.write(sequence(100));
+            }
+            //缓冲区内的数据仍受字节上限约束
+            Assert.assertThrows(BufferOverflowException.class, () -> writeBuffer.write(sequence(100)));
+            writeBuffer.close();
+        }
+    }
+
+    /**
+     * 输出队列已满时关闭WriteBuffer，唤醒等待中的业务线程
+     */
+    @Test(timeout = 10000)
+    public void testCloseWakesBlockedWriter() throws Exception {
+        AsyncSink sink = new AsyncSink();
+        WriteBufferImpl writeBuffer = new WriteBufferImpl(pool, sink, 16, 2);
+        sink.writeBuffer = writeBuffer;
+        Thread writer = new Thread(() -> {
+            try {
+                writeBuffer.write(new byte[16 * 10]);
+            } catch (Exception ignored) {
+                //关闭后写入失败
+            }
+        });
+        writer.start();
+        while (writer.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        writeBuffer.close();
+        writer.join();
+    }
+
+    /**
+     * cork期间数据暂存于队列中，flush不触发输出，uncork时一次性输出
+     */
+    @Test
+    public void testCork() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 16, 16);
+        byte[] data = sequence(16 * 5 + 3);
+        writeBuffer.cork();
+        writeBuffer.write(data);
+        writeBuffer.flush();
+        Assert.assertEquals(0, sink.rounds);
+        Assert.assertFalse(writeBuffer.isEmpty());
+
+        writeBuffer.uncork();
+        Assert.assertEquals(1, sink.rounds);
+        Assert.assertArrayEquals(data, sink.out.toByteArray());
+        Assert.assertTrue(writeBuffer.isEmpty());
+    }
+
+    /**
+     * 未cork时跨越多个内存块的写入一经入队即触发输出，无需等待flush
+     */
+    @Test
+    public void testWithoutCork() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 16, 16);
+        byte[] data = sequence(16 * 5 + 3);
+        writeBuffer.write(data);
+        Assert.assertEquals(1, sink.rounds);
+        Assert.assertArrayEquals(data, sink.out.toByteArray());
+        writeBuffer.flush();
+        Assert.assertEquals(1, sink.rounds);
+    }
+
+    /**
+     * cork嵌套调用时，最外层uncork才恢复输出
+     */
+    @Test
+    public void testNestedCork() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 16, 16);
+        byte[] data = sequence(40);
+        writeBuffer.cork();
+        writeBuffer.cork();
+        writeBuffer.write(data);
+        writeBuffer.uncork();
+        Assert.assertEquals(0, sink.out.size());
+        writeBuffer.uncork();
+        Assert.assertArrayEquals(data, sink.out.toByteArray());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUncorkWithoutCork() {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 16, 16);
+        writeBuffer.uncork();
+    }
+
+    /**
+     * 未启用写水位线时，cork期间队列已满则先行输出，写入线程不会永久阻塞
+     */
+    @Test(timeout = 10000)
+    public void testCorkFullQueue() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 16, 2);
+        byte[] data = sequence(16 * 10);
+        writeBuffer.cork();
+        writeBuffer.write(data);
+        Assert.assertTrue(sink.rounds > 0);
+        writeBuffer.uncork();
+        Assert.assertArrayEquals(data, sink.out.toByteArray());
+    }
+
+    /**
+     * 其他线程在cork期间调用flush，立即返回且不输出数据
+     */
+    @Test(timeout = 10000)
+    public void testFlushWhileCorked() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 16, 16);
+        byte[] data = sequence(16 * 3);
+        writeBuffer.cork();
+        writeBuffer.write(data);
+        Thread flusher = new Thread(writeBuffer::flush);
+        flusher.start();
+        flusher.join();
+        Assert.assertEquals(0, sink.out.size());
+        writeBuffer.uncork();
+        Assert.assertArrayEquals(data, sink.out.toByteArray());
+    }
+
+    /**
+     * 各类数值编码跨越内存块时与DataOutputStream的输出一致，堆内存与堆外内存结果相同
+     */
+    @Test
+    public void testEncoders() throws Exception {
+        for (BufferPagePool bufferPool : new BufferPagePool[]{pool, directPool}) {
+            testEncoders(bufferPool);
+        }
+    }
+
+    private void testEncoders(BufferPagePool bufferPool) throws Exception {
+        for (int chunkSize : new int[]{1, 3, 5, 7, 64}) {
+            Sink sink = new Sink();
+            WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(bufferPool, sink, chunkSize, 4);
+            ByteArrayOutputStream expect = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(expect);
+            Random random = new Random(chunkSize);
+            for (int i = 0; i < 2000; i++) {
+                switch (random.nextInt(7)) {
+                    case 0: {
+                        short v = (short) random.nextInt();
+                        writeBuffer.writeShort(v);
+                        out.writeShort(v);
+                        break;
+                    }
+                    case 1: {
+                        int v = random.nextInt();
+                        writeBuffer.writeInt(v);
+                        out.writeInt(v);
+                        break;
+                    }
+                    case 2: {
+                        int v = random.nextInt();
+                        writeBuffer.writeIntLE(v);
+                        out.writeInt(Integer.reverseBytes(v));
+                        break;
+                    }
+                    case 3: {
+                        long v = random.nextLong();
+                        writeBuffer.writeLong(v);
+                        out.writeLong(v);
+                        break;
+                    }
+                    case 4: {
+                        int v = random.nextInt() >>> random.nextInt(32);
+                        writeBuffer.writeVarInt(v);
+                        out.write(varInt(v));
+                        break;
+                    }
+                    case 5: {
+                        String v = "ascii-" + i;
+                        writeBuffer.writeAscii(v);
+                        out.write(v.getBytes(StandardCharsets.US_ASCII));
+                        break;
+                    }
+                    default: {
+                        StringBuilder v = new StringBuilder("builder-").append(i);
+                        writeBuffer.writeAscii(v);
+                        out.write(v.toString().getBytes(StandardCharsets.US_ASCII));
+                    }
+                }
+            }
+            writeBuffer.flush();
+            Assert.assertArrayEquals("chunkSize: " + chunkSize, expect.toByteArray(), sink.out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testWriteVarInt() throws Exception {
+        int[] values = {0, 1, 127, 128, 255, 16383, 16384, 2097151, 2097152, 268435455, 268435456, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 3, 4);
+        ByteArrayOutputStream expect = new ByteArrayOutputStream();
+        for (int v : values) {
+            writeBuffer.writeVarInt(v);
+            expect.write(varInt(v));
+        }
+        writeBuffer.flush();
+        Assert.assertArrayEquals(expect.toByteArray(), sink.out.toByteArray());
+        //负数固定占用5个字节
+        Assert.assertEquals(5, varInt(-1).length);
+    }
+
+    /**
+     * UTF-8编码与String.getBytes一致，包括代理对、不成对的代理字符以及跨越内存块、中间缓冲区边界的字符
+     */
+    @Test
+    public void testWriteUtf8() throws Exception {
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            longText.append("a中\uD83D\uDE00é");
+        }
+        String[] texts = {"", "abc", "héllo", "中文字符串测试", "emoji \uD83D\uDE00 end", "lone \uD800 x", "tail \uDC00", "end\uD800", "\uDE00\uD83D",
+                //代理对位于中间缓冲区的边界
+                repeat('z', 251) + "\uD83D\uDE00\uD83D\uDE00", repeat('z', 252) + "\uD83D\uDE00", repeat('z', 253) + "中中", longText.toString()};
+        for (BufferPagePool bufferPool : new BufferPagePool[]{pool, directPool}) {
+            for (int chunkSize : new int[]{1, 3, 5, 7, 64}) {
+                //设置字节上限时预先计算编码长度
+                for (int limit : new int[]{0, 1 << 20}) {
+                    Sink sink = new Sink();
+                    WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(bufferPool, sink, chunkSize, 4, 0, 0, limit, () -> {
+                    });
+                    ByteArrayOutputStream expect = new ByteArrayOutputStream();
+                    for (String text : texts) {
+                        writeBuffer.writeUtf8(text);
+                        expect.write(text.getBytes(StandardCharsets.UTF_8));
+                    }
+                    writeBuffer.flush();
+                    Assert.assertArrayEquals("chunkSize: " + chunkSize + " limit: " + limit, expect.toByteArray(), sink.out.toByteArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * 写入ByteBuffer的剩余数据，src的limit保持不变
+     */
+    @Test
+    public void testWriteByteBuffer() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 5, 4);
+        byte[] data = sequence(23);
+        ByteArrayOutputStream expect = new ByteArrayOutputStream();
+        for (ByteBuffer src : new ByteBuffer[]{ByteBuffer.allocate(32), ByteBuffer.allocateDirect(32)}) {
+            src.put((byte) -1).put(data).put((byte) -1).flip();
+            src.position(1).limit(1 + data.length);
+            writeBuffer.write(src);
+            Assert.assertFalse(src.hasRemaining());
+            Assert.assertEquals(1 + data.length, src.limit());
+            expect.write(data);
+        }
+        writeBuffer.flush();
+        Assert.assertArrayEquals(expect.toByteArray(), sink.out.toByteArray());
+    }
+
+    /**
+     * 预留长度字段并回填，预留区域与消息体跨越内存块时与参照实现的输出一致
+     */
+    @Test
+    public void testReserveBackfill() throws Exception {
+        for (int chunkSize : new int[]{1, 3, 5, 7, 64}) {
+            Sink sink = new Sink();
+            WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, chunkSize, 4);
+            ByteArrayOutputStream expect = new ByteArrayOutputStream();
+            Random random = new Random(chunkSize);
+            for (int i = 0; i < 500; i++) {
+                int size = 1 + random.nextInt(8);
+                byte[] body = new byte[random.nextInt(100)];
+                random.nextBytes(body);
+                String text = "frame-" + i + "-\uD83D\uDE00";
+                writeBuffer.reserve(size);
+                writeBuffer.write(body);
+                writeBuffer.writeUtf8(text);
+                int length = writeBuffer.writtenSinceReserve();
+                writeBuffer.backfill(length);
+                //偶尔在消息之间触发flush，使后续预留区域位于内存块中间
+                if (random.nextInt(4) == 0) {
+                    writeBuffer.flush();
+                }
+
+                byte[] textBytes = text.getBytes(StandardCharsets.UTF_8);
+                Assert.assertEquals(body.length + textBytes.length, length);
+                writeLengthField(expect, length, size);
+                expect.write(body);
+                expect.write(textBytes);
+            }
+            writeBuffer.flush();
+            Assert.assertArrayEquals("chunkSize: " + chunkSize, expect.toByteArray(), sink.out.toByteArray());
+        }
+    }
+
+    /**
+     * 回填之前，预留区域所在及其后写满的内存块均不输出
+     */
+    @Test
+    public void testReserveHoldsChunks() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 4, 4);
+        writeBuffer.write(sequence(10));
+        Assert.assertEquals(10, sink.out.size());
+
+        writeBuffer.reserve(4);
+        writeBuffer.write(sequence(20));
+        writeBuffer.flush();
+        Assert.assertEquals(10, sink.out.size());
+        Assert.assertFalse(writeBuffer.isEmpty());
+
+        writeBuffer.backfill(writeBuffer.writtenSinceReserve());
+        writeBuffer.flush();
+        ByteArrayOutputStream expect = new ByteArrayOutputStream();
+        expect.write(sequence(10));
+        writeLengthField(expect, 20, 4);
+        expect.write(sequence(20));
+        Assert.assertArrayEquals(expect.toByteArray(), sink.out.toByteArray());
+        Assert.assertTrue(writeBuffer.isEmpty());
+    }
+
+    @Test
+    public void testReserveMisuse() throws Exception {
+        Sink sink = new Sink();
+        WriteBufferImpl writeBuffer = sink.writeBuffer = new WriteBufferImpl(pool, sink, 16, 4);
+        Assert.assertThrows(IllegalArgumentException.class, () -> writeBuffer.reserve(0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> writeBuffer.reserve(9));
+        Assert.assertThrows(IllegalStateException.class, writeBuffer::writtenSinceReserve);
+        Assert.assertThrows(IllegalStateException.class, () -> writeBuffer.backfill(0));
+
+        writeBuffer.reserve(2);
+        Assert.assertThrows(IllegalStateException.class, () -> writeBuffer.reserve(2));
+        //附带回调或独立入队的写操作无法与预留区域保持顺序
+        Assert.assertThrows(IllegalStateException.class, () -> writeBuffer.writeReference(ByteBuffer.wrap(sequence(4)), buffer -> {
+        }));
+        Assert.assertThrows(IllegalStateException.class, () -> writeBuffer.write(sequence(4), b -> {
+        }));
+        writeBuffer.backfill(0);
+        writeBuffer.flush();
+        Assert.assertArrayEquals(new byte[2], sink.out.toByteArray());
+    }
+
+    /**
+     * 参照实现：按大端序写入长度的低size个字节
+     */
+    private static void writeLengthField(ByteArrayOutputStream out, long length, int size) {
+        for (int shift = (size - 1) << 3; shift >= 0; shift -= 8) {
+            out.write((int) (length >>> shift));
+        }
+    }
+
+    /**
+     * 参照实现：LEB128无符号变长编码
+     */
+    private static byte[] varInt(int v) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+        return out.toByteArray();
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static byte[] sequence(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    /**
+     * 模拟同步完成的输出：在当前线程输出全部待输出数据后结束本轮输出
+     */
+    private static final class Sink implements Consumer<VirtualBuffer> {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private WriteBufferImpl writeBuffer;
+        /**
+         * 输出轮次，对应会话发起的聚集写次数
+         */
+        private int rounds;
+
+        @Override
+        public void accept(VirtualBuffer virtualBuffer) {
+            rounds++;
+            do {
+                ByteBuffer buffer = virtualBuffer.buffer();
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                out.write(bytes, 0, bytes.length);
+                virtualBuffer.clean();
+            } while ((virtualBuffer = writeBuffer.poll()) != null);
+            writeBuffer.finishWrite();
+        }
+    }
+
+    /**
+     * 模拟会话的异步输出：由独立线程完成输出后继续poll，无数据时结束本轮输出
+     */
+    private static final class AsyncSink implements Consumer<VirtualBuffer>, Runnable {
+        private final BlockingQueue<VirtualBuffer> pending = new LinkedBlockingQueue<>();
+        private final AtomicInteger owners = new AtomicInteger();
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private WriteBufferImpl writeBuffer;
+        private volatile boolean overlapped;
+        private volatile boolean running = true;
+
+        @Override
+        public void accept(VirtualBuffer virtualBuffer) {
+            if (owners.incrementAndGet() != 1) {
+                overlapped = true;
+            }
+            pending.add(virtualBuffer);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    VirtualBuffer virtualBuffer = pending.poll(10, TimeUnit.MILLISECONDS);
+                    if (virtualBuffer == null) {
+                        continue;
+                    }
+                    do {
+                        ByteBuffer buffer = virtualBuffer.buffer();
+                        synchronized (out) {
+                            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                        }
+                        virtualBuffer.clean();
+                    } while ((virtualBuffer = writeBuffer.poll()) != null);
+                    owners.decrementAndGet();
+                    writeBuffer.finishWrite();
+                    writeBuffer.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] await(int size) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (System.currentTimeMillis() < deadline) {
+                synchronized (out) {
+                    if (out.size() >= size) {
+                        return out.toByteArray();
+                    }
+                }
+                Thread.sleep(5);
+            }
+            synchronized (out) {
+                return out.toByteArray();
+            }
+        }
+
+        void stop(Thread thread) throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+    }
+}
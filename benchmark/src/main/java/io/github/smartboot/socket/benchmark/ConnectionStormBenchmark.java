@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: ConnectionStormBenchmark.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.benchmark;
+
+import io.github.smartboot.socket.MessageProcessor;
+import io.github.smartboot.socket.StateMachineEnum;
+import io.github.smartboot.socket.transport.AioQuickServer;
+import io.github.smartboot.socket.transport.AioSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 连接风暴压测，对比单监听socket与SO_REUSEPORT多监听模式下的每秒accept数。
+ * <p>
+ * 多个客户端线程持续建立连接后立即以RST方式断开，模拟大量客户端集中重连。
+ * SO_REUSEPORT需JDK9+及Linux 3.9+，不满足时服务端会降级为单监听socket。
+ * </p>
+ * <pre>
+ * java -Dseconds=10 -DclientThreads=16 -DthreadNum=8 io.github.smartboot.socket.benchmark.ConnectionStormBenchmark
+ * </pre>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public class ConnectionStormBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int seconds = Integer.parseInt(System.getProperty("seconds", "10"));
+        int clientThreads = Integer.parseInt(System.getProperty("clientThreads", "16"));
+        int threadNum = Integer.parseInt(System.getProperty("threadNum", String.valueOf(Math.max(2, Runtime.getRuntime().availableProcessors()))));
+
+        int port = 8092;
+        for (boolean reusePort : new boolean[]{false, true}) {
+            long accepts = run(port++, reusePort, threadNum, clientThreads, seconds);
+            System.out.println("reusePort: " + reusePort + "\taccepts: " + accepts + "\taccepts/sec: " + accepts / seconds);
+        }
+        System.exit(0);
+    }
+
+    private static long run(int port, boolean reusePort, int threadNum, int clientThreads, int seconds) throws Exception {
+        LongAdder accepted = new LongAdder();
+        MessageProcessor<Void> processor = new MessageProcessor<Void>() {
+            @Override
+            public void process(AioSession session, Void msg) {
+            }
+
+            @Override
+            public void stateEvent(AioSession session, StateMachineEnum stateMachineEnum, Throwable throwable) {
+                if (stateMachineEnum == StateMachineEnum.NEW_SESSION) {
+                    accepted.increment();
+                }
+            }
+        };
+        AioQuickServer server = new AioQuickServer(port, (readBuffer, session) -> null, processor);
+        server.setBannerEnabled(false).setThreadNum(threadNum).setBacklog(65535);
+        if (reusePort) {
+            server.reusePort();
+        }
+        server.start();
+
+        //预热
+        Thread.sleep(1000);
+        long deadline = System.currentTimeMillis() + seconds * 1000L;
+        Thread[] threads = new Thread[clientThreads];
+        for (int i = 0; i < clientThreads; i++) {
+            threads[i] = new Thread(() -> {
+                InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+                while (System.currentTimeMillis() < deadline) {
+                    try (Socket socket = new Socket()) {
+                        //RST断开，避免客户端端口耗尽于TIME_WAIT
+                        socket.setSoLinger(true, 0);
+                        socket.connect(address);
+                    } catch (IOException ignored) {
+                    }
+                }
+            }, "storm-" + i);
+        }
+        long start = accepted.sum();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long total = accepted.sum() - start;
+        server.shutdown();
+        return total;
+    }
+}
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: EncoderBenchmark.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.benchmark;
+
+import io.github.smartboot.socket.MessageProcessor;
+import io.github.smartboot.socket.StateMachineEnum;
+import io.github.smartboot.socket.transport.AioQuickServer;
+import io.github.smartboot.socket.transport.AioSession;
+import io.github.smartboot.socket.transport.WriteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WriteBuffer编码方式压测，对比先编码为byte[]再写入与直接写入写缓冲区两种方式的吞吐。
+ * <p>
+ * 单个业务线程持续向同一会话写入消息，每写入{@link #BATCH}条消息flush一次，客户端只负责消费。
+ * 以"Bytes"结尾的测试先将数据编码为byte[]再调用write(byte[])，其余测试调用对应的编码方法直接写入。
+ * </p>
+ * <pre>
+ * java -cp benchmark.jar io.github.smartboot.socket.benchmark.EncoderBenchmark
+ * </pre>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+public class EncoderBenchmark {
+    private static final String TEXT = "smart-socket 极简、易用、高性能的AIO通信框架";
+    private static final String ASCII_TEXT = "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\n";
+    private static final int BATCH = 256;
+    private static final int PORT = 8110;
+
+    private AioQuickServer server;
+    private Socket socket;
+    private WriteBuffer writeBuffer;
+    private final ByteBuffer payload = ByteBuffer.allocateDirect(256);
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        CountDownLatch connected = new CountDownLatch(1);
+        AioSession[] sessions = new AioSession[1];
+        MessageProcessor<Void> processor = new MessageProcessor<Void>() {
+            @Override
+            public void process(AioSession session, Void msg) {
+            }
+
+            @Override
+            public void stateEvent(AioSession session, StateMachineEnum stateMachineEnum, Throwable throwable) {
+                if (stateMachineEnum == StateMachineEnum.NEW_SESSION) {
+                    sessions[0] = session;
+                    connected.countDown();
+                }
+            }
+        };
+        server = new AioQuickServer(PORT, (readBuffer, session) -> null, processor);
+        server.setBannerEnabled(false).setWriteBuffer(64 * 1024, 16);
+        server.start();
+
+        //客户端仅消费数据
+        socket = new Socket("127.0.0.1", PORT);
+        Thread reader = new Thread(() -> {
+            byte[] bytes = new byte[64 * 1024];
+            try (InputStream inputStream = socket.getInputStream()) {
+                while (inputStream.read(bytes) != -1) {
+                }
+            } catch (IOException ignored) {
+            }
+        }, "reader");
+        reader.setDaemon(true);
+        reader.start();
+        connected.await();
+        writeBuffer = sessions[0].writeBuffer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        socket.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void writeInt() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            for (int j = 0; j < 16; j++) {
+                writeBuffer.writeInt(i + j);
+            }
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void writeLong() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            for (int j = 0; j < 8; j++) {
+                writeBuffer.writeLong(i + j);
+            }
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void varIntBytes() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            for (int j = 0; j < 16; j++) {
+                writeBuffer.write(encodeVarInt(i << j));
+            }
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void varInt() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            for (int j = 0; j < 16; j++) {
+                writeBuffer.writeVarInt(i << j);
+            }
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void asciiBytes() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            writeBuffer.write(ASCII_TEXT.getBytes(StandardCharsets.US_ASCII));
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void ascii() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            writeBuffer.writeAscii(ASCII_TEXT);
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void utf8Bytes() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            writeBuffer.write(TEXT.getBytes(StandardCharsets.UTF_8));
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void utf8() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            writeBuffer.writeUtf8(TEXT);
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void frameBytes() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+            writeBuffer.writeInt(bytes.length);
+            writeBuffer.write(bytes);
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void frame() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            writeBuffer.reserve(Integer.BYTES);
+            writeBuffer.writeUtf8(TEXT);
+            writeBuffer.backfill(writeBuffer.writtenSinceReserve());
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void bufferBytes() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            payload.clear();
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            writeBuffer.write(bytes);
+        }
+        writeBuffer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void buffer() throws IOException {
+        for (int i = 0; i < BATCH; i++) {
+            payload.clear();
+            writeBuffer.write(payload);
+        }
+        writeBuffer.flush();
+    }
+
+    private static byte[] encodeVarInt(int v) {
+        int size = 1;
+        for (int n = v; (n & ~0x7F) != 0; n >>>= 7) {
+            size++;
+        }
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size - 1; i++) {
+            bytes[i] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        bytes[size - 1] = (byte) v;
+        return bytes;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(EncoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: FanOutWakeupBenchmark.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.benchmark;
+
+import io.github.smartboot.socket.MessageProcessor;
+import io.github.smartboot.socket.Protocol;
+import io.github.smartboot.socket.StateMachineEnum;
+import io.github.smartboot.socket.buffer.BufferPagePool;
+import io.github.smartboot.socket.enhance.EnhanceAsynchronousChannelProvider;
+import io.github.smartboot.socket.enhance.WorkerStatistics;
+import io.github.smartboot.socket.transport.AioQuickClient;
+import io.github.smartboot.socket.transport.AioQuickServer;
+import io.github.smartboot.socket.transport.AioSession;
+import io.github.smartboot.socket.transport.WriteBuffer;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 业务线程扇出写压测，观察Selector唤醒次数。
+ * <p>
+ * 多个业务线程轮流向所有连接写数据，对端接收缓冲区较小时会频繁出现半包写，
+ * 业务线程需跨线程为连接注册OP_WRITE并唤醒写Worker。
+ * 压测结束后输出唤醒请求次数与实际执行selector.wakeup()的次数，二者之差即合并掉的系统调用。
+ * </p>
+ * <pre>
+ * java -Dsessions=1000 -Dseconds=10 -Dpayload=4096 -DbusinessThreads=4 io.github.smartboot.socket.benchmark.FanOutWakeupBenchmark
+ * </pre>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public class FanOutWakeupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = Integer.parseInt(System.getProperty("sessions", "1000"));
+        int seconds = Integer.parseInt(System.getProperty("seconds", "10"));
+        int payload = Integer.parseInt(System.getProperty("payload", "4096"));
+        int businessThreads = Integer.parseInt(System.getProperty("businessThreads", "4"));
+        int port = 8091;
+
+        byte[] data = new byte[payload];
+        BufferPagePool bufferPagePool = new BufferPagePool(Runtime.getRuntime().availableProcessors(), true);
+        List<AioSession> serverSessions = new CopyOnWriteArrayList<>();
+        MessageProcessor<Void> serverProcessor = new MessageProcessor<Void>() {
+            @Override
+            public void process(AioSession session, Void msg) {
+            }
+
+            @Override
+            public void stateEvent(AioSession session, StateMachineEnum stateMachineEnum, Throwable throwable) {
+                if (stateMachineEnum == StateMachineEnum.NEW_SESSION) {
+                    serverSessions.add(session);
+                } else if (stateMachineEnum == StateMachineEnum.SESSION_CLOSED) {
+                    serverSessions.remove(session);
+                }
+            }
+        };
+        AioQuickServer server = new AioQuickServer(port, (readBuffer, session) -> null, serverProcessor);
+        server.setBannerEnabled(false)
+                .setThreadNum(Math.max(2, Runtime.getRuntime().availableProcessors()))
+                .setBufferPagePool(bufferPagePool)
+                .setWriteBuffer(payload, 64);
+        server.start();
+
+        LongAdder received = new LongAdder();
+        Protocol<Void> consumeAll = (readBuffer, session) -> {
+            received.add(readBuffer.remaining());
+            readBuffer.position(readBuffer.limit());
+            return null;
+        };
+        AsynchronousChannelGroup clientGroup = new EnhanceAsynchronousChannelProvider().openAsynchronousChannelGroup(Runtime.getRuntime().availableProcessors(), Thread::new);
+        AioQuickClient[] clients = new AioQuickClient[sessions];
+        for (int i = 0; i < sessions; i++) {
+            clients[i] = new AioQuickClient("127.0.0.1", port, consumeAll, (session, msg) -> {
+            });
+            clients[i].setReadBufferSize(64 * 1024).setBufferPagePool(bufferPagePool)
+                    .setOption(StandardSocketOptions.SO_RCVBUF, 8 * 1024)
+                    .start(clientGroup);
+        }
+        while (serverSessions.size() < sessions) {
+            Thread.sleep(100);
+        }
+
+        LongAdder writes = new LongAdder();
+        long deadline = System.currentTimeMillis() + seconds * 1000L;
+        Thread[] threads = new Thread[businessThreads];
+        for (int t = 0; t < businessThreads; t++) {
+            final int index = t;
+            threads[t] = new Thread(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    for (int i = index; i < serverSessions.size(); i += businessThreads) {
+                        try {
+                            WriteBuffer writeBuffer = serverSessions.get(i).writeBuffer();
+                            writeBuffer.write(data);
+                            writeBuffer.flush();
+                            writes.increment();
+                        } catch (IOException | IndexOutOfBoundsException ignored) {
+                        }
+                    }
+                }
+            }, "business-" + t);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long wakeupRequests = 0;
+        long wakeups = 0;
+        for (WorkerStatistics statistics : server.getWorkerStatistics()) {
+            System.out.println(statistics.name() + "\twakeupRequests: " + statistics.wakeupRequestCount() + "\twakeups: " + statistics.wakeupCount());
+            wakeupRequests += statistics.wakeupRequestCount();
+            wakeups += statistics.wakeupCount();
+        }
+        System.out.println("writes: " + writes.sum() + "\treceived: " + (received.sum() / 1024 / 1024) + "(MB)");
+        System.out.println("wakeupRequests: " + wakeupRequests + "\twakeups: " + wakeups + "\tsaved: " + (wakeupRequests == 0 ? 0 : (wakeupRequests - wakeups) * 100 / wakeupRequests) + "%");
+
+        for (AioQuickClient client : clients) {
+            client.shutdownNow();
+        }
+        clientGroup.shutdown();
+        server.shutdown();
+        bufferPagePool.release();
+        System.exit(0);
+    }
+}
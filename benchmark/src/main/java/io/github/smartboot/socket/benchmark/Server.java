@@ -37,9 +37,9 @@ public class Server {
                 WriteBuffer outputStream = session.writeBuffer();
 
                 try {
-                    byte[] bytes = msg.getBytes();
-                    outputStream.writeInt(bytes.length);
-                    outputStream.write(bytes);
+                    outputStream.reserve(Integer.BYTES);
+                    outputStream.writeUtf8(msg);
+                    outputStream.backfill(outputStream.writtenSinceReserve());
                 } catch (IOException e) {
 //                    e.printStackTrace();
                 }
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: WriteBufferContentionBenchmark.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.benchmark;
+
+import io.github.smartboot.socket.MessageProcessor;
+import io.github.smartboot.socket.StateMachineEnum;
+import io.github.smartboot.socket.transport.AioQuickServer;
+import io.github.smartboot.socket.transport.AioSession;
+import io.github.smartboot.socket.transport.WriteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程并发写同一会话的压测，观察WriteBuffer在不同生产者线程数下的吞吐。
+ * <p>
+ * 每轮测试建立一个连接，1/4/16个生产者线程持续向同一个会话的WriteBuffer写入小消息并flush，客户端只负责消费。
+ * 吞吐按每毫秒完成的write+flush次数统计。
+ * </p>
+ * <pre>
+ * java -cp benchmark.jar io.github.smartboot.socket.benchmark.WriteBufferContentionBenchmark
+ * </pre>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+public class WriteBufferContentionBenchmark {
+    private static final int PORT = 8094;
+
+    @Param({"64"})
+    private int payload;
+
+    private byte[] data;
+    private AioQuickServer server;
+    private Socket socket;
+    private WriteBuffer writeBuffer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        data = new byte[payload];
+        CountDownLatch connected = new CountDownLatch(1);
+        AioSession[] sessions = new AioSession[1];
+        MessageProcessor<Void> processor = new MessageProcessor<Void>() {
+            @Override
+            public void process(AioSession session, Void msg) {
+            }
+
+            @Override
+            public void stateEvent(AioSession session, StateMachineEnum stateMachineEnum, Throwable throwable) {
+                if (stateMachineEnum == StateMachineEnum.NEW_SESSION) {
+                    sessions[0] = session;
+                    connected.countDown();
+                }
+            }
+        };
+        server = new AioQuickServer(PORT, (readBuffer, session) -> null, processor);
+        server.setBannerEnabled(false).setWriteBuffer(4096, 16);
+        server.start();
+
+        //客户端仅消费数据
+        socket = new Socket("127.0.0.1", PORT);
+        Thread reader = new Thread(() -> {
+            byte[] bytes = new byte[64 * 1024];
+            try (InputStream inputStream = socket.getInputStream()) {
+                while (inputStream.read(bytes) != -1) {
+                }
+            } catch (IOException ignored) {
+            }
+        }, "reader");
+        reader.setDaemon(true);
+        reader.start();
+        connected.await();
+        writeBuffer = sessions[0].writeBuffer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        socket.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers1() throws IOException {
+        writeAndFlush();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers4() throws IOException {
+        writeAndFlush();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void producers16() throws IOException {
+        writeAndFlush();
+    }
+
+    private void writeAndFlush() throws IOException {
+        writeBuffer.write(data);
+        writeBuffer.flush();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(WriteBufferContentionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
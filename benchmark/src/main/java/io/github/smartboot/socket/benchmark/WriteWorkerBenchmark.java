@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2017-2026, tech.smartboot. All rights reserved.
+ * project name: smart-socket
+ * file name: WriteWorkerBenchmark.java
+ * Date: 2026-10-18
+ * Author: sandao (zhengjunweimail@163.com)
+ *
+ ******************************************************************************/
+
+package io.github.smartboot.socket.benchmark;
+
+import io.github.smartboot.socket.MessageProcessor;
+import io.github.smartboot.socket.Protocol;
+import io.github.smartboot.socket.StateMachineEnum;
+import io.github.smartboot.socket.buffer.BufferPagePool;
+import io.github.smartboot.socket.enhance.EnhanceAsynchronousChannelProvider;
+import io.github.smartboot.socket.transport.AioQuickClient;
+import io.github.smartboot.socket.transport.AioQuickServer;
+import io.github.smartboot.socket.transport.AioSession;
+import io.github.smartboot.socket.transport.WriteBuffer;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 服务端推送压测，观察写线程数对出口吞吐的影响。
+ * <p>
+ * 每个连接建立后，服务端通过 write 回调持续推送数据，客户端只负责消费。
+ * 推送速度大于对端消费速度时会频繁出现半包写，OP_WRITE 事件全部由写线程处理。
+ * </p>
+ * <pre>
+ * java -Dconnections=500 -Dseconds=10 -DwriteThreads=1,2,4,8 io.github.smartboot.socket.benchmark.WriteWorkerBenchmark
+ * </pre>
+ *
+ * @author 三刀
+ * @version V1.0 , 2026/10/18
+ */
+public class WriteWorkerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int connections = Integer.parseInt(System.getProperty("connections", "500"));
+        int seconds = Integer.parseInt(System.getProperty("seconds", "10"));
+        int payload = Integer.parseInt(System.getProperty("payload", "8192"));
+        int cpu = Runtime.getRuntime().availableProcessors();
+        String[] writeThreads = System.getProperty("writeThreads", "1,2,4," + cpu).split(",");
+
+        int port = 8090;
+        for (String writeThread : writeThreads) {
+            long bytes = run(port++, Integer.parseInt(writeThread.trim()), connections, seconds, payload);
+            System.out.println("writeThreads: " + writeThread + "\tthroughput: " + (bytes * 1.0 / seconds / 1024 / 1024) + "(MB/s)");
+        }
+        System.exit(0);
+    }
+
+    private static long run(int port, int writeThreadNum, int connections, int seconds, int payload) throws Exception {
+        byte[] data = new byte[payload];
+        BufferPagePool bufferPagePool = new BufferPagePool(Runtime.getRuntime().availableProcessors(), true);
+        //持续推送：上一批数据输出完毕后立即推送下一批
+        Consumer<WriteBuffer> push = new Consumer<WriteBuffer>() {
+            @Override
+            public void accept(WriteBuffer writeBuffer) {
+                try {
+                    writeBuffer.write(data, this);
+                } catch (IOException ignored) {
+                }
+            }
+        };
+        MessageProcessor<Void> serverProcessor = new MessageProcessor<Void>() {
+            @Override
+            public void process(AioSession session, Void msg) {
+            }
+
+            @Override
+            public void stateEvent(AioSession session, StateMachineEnum stateMachineEnum, Throwable throwable) {
+                if (stateMachineEnum == StateMachineEnum.NEW_SESSION) {
+                    push.accept(session.writeBuffer());
+                }
+            }
+        };
+        AioQuickServer server = new AioQuickServer(port, (readBuffer, session) -> null, serverProcessor);
+        server.setBannerEnabled(false)
+                .setThreadNum(Math.max(2, Runtime.getRuntime().availableProcessors()))
+                .setWriteThreadNum(writeThreadNum)
+                .setBufferPagePool(bufferPagePool)
+                .setWriteBuffer(payload, 4);
+        server.start();
+
+        LongAdder received = new LongAdder();
+        Protocol<Void> consumeAll = (readBuffer, session) -> {
+            received.add(readBuffer.remaining());
+            readBuffer.position(readBuffer.limit());
+            return null;
+        };
+        AsynchronousChannelGroup clientGroup = new EnhanceAsynchronousChannelProvider().openAsynchronousChannelGroup(Runtime.getRuntime().availableProcessors(), Thread::new);
+        AioQuickClient[] clients = new AioQuickClient[connections];
+        for (int i = 0; i < connections; i++) {
+            clients[i] = new AioQuickClient("127.0.0.1", port, consumeAll, (session, msg) -> {
+            });
+            clients[i].setReadBufferSize(64 * 1024).setBufferPagePool(bufferPagePool).start(clientGroup);
+        }
+
+        //预热
+        Thread.sleep(2000);
+        long start = received.sum();
+        Thread.sleep(seconds * 1000L);
+        long total = received.sum() - start;
+
+        for (AioQuickClient client : clients) {
+            client.shutdownNow();
+        }
+        clientGroup.shutdown();
+        server.shutdown();
+        bufferPagePool.release();
+        return total;
+    }
+}
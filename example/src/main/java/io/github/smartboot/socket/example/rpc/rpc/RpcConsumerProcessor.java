@@ -16,12 +16,9 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.lang.reflect.Proxy;
 import java.net.SocketTimeoutException;
 import java.util.Map;
@@ -117,16 +114,7 @@ public class RpcConsumerProcessor implements MessageProcessor<byte[]> {
         synchRespMap.put(request.getUuid(), rpcResponseCompletableFuture);
 
         //输出消息
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        ObjectOutput objectOutput = new ObjectOutputStream(byteArrayOutputStream);
-        objectOutput.writeObject(request);
-        byte[] data=byteArrayOutputStream.toByteArray();
-        synchronized (aioSession) {
-            aioSession.writeBuffer().writeInt(data.length + 4);
-            aioSession.writeBuffer().write(data);
-            aioSession.writeBuffer().flush();
-        }
-//        aioSession.write(byteArrayOutputStream.toByteArray());
+        RpcProtocol.encode(aioSession, request);
 
         try {
             RpcResponse resp = rpcResponseCompletableFuture.get(3, TimeUnit.SECONDS);
@@ -11,7 +11,11 @@ package io.github.smartboot.socket.example.rpc.rpc;
 
 import io.github.smartboot.socket.Protocol;
 import io.github.smartboot.socket.transport.AioSession;
+import io.github.smartboot.socket.transport.WriteBuffer;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 /**
@@ -36,4 +40,36 @@ public class RpcProtocol implements Protocol<byte[]> {
         readBuffer.get(data);
         return data;
     }
+
+    /**
+     * 序列化对象并输出，消息体直接写入WriteBuffer，完成后回填消息长度。
+     * 序列化失败时关闭会话
+     */
+    public static void encode(AioSession session, Object object) throws IOException {
+        WriteBuffer writeBuffer = session.writeBuffer();
+        synchronized (session) {
+            writeBuffer.reserve(INTEGER_BYTES);
+            ObjectOutputStream objectOutput = new ObjectOutputStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    writeBuffer.writeByte((byte) b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    writeBuffer.write(b, off, len);
+                }
+            });
+            try {
+                objectOutput.writeObject(object);
+                objectOutput.flush();
+            } catch (Throwable e) {
+                //消息体已部分写入且无法撤回，关闭会话以免残缺的消息破坏后续数据
+                session.close();
+                throw e;
+            }
+            writeBuffer.backfill(writeBuffer.writtenSinceReserve() + INTEGER_BYTES);
+            writeBuffer.flush();
+        }
+    }
 }
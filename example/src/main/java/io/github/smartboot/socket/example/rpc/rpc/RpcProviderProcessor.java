@@ -14,12 +14,9 @@ import io.github.smartboot.socket.StateMachineEnum;
 import io.github.smartboot.socket.transport.AioSession;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -49,7 +46,6 @@ public class RpcProviderProcessor implements MessageProcessor<byte[]> {
     public void process(AioSession session, byte[] msg) {
         pool.execute(() -> {
             ObjectInput objectInput = null;
-            ObjectOutput objectOutput = null;
             try {
                 objectInput = new ObjectInputStream(new ByteArrayInputStream(msg));
                 RpcRequest req = (RpcRequest) objectInput.readObject();
@@ -87,16 +83,7 @@ public class RpcProviderProcessor implements MessageProcessor<byte[]> {
                     e.printStackTrace();
                     resp.setException(e.getMessage());
                 }
-                ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-                objectOutput = new ObjectOutputStream(byteArrayOutputStream);
-                objectOutput.writeObject(resp);
-                byte[] data = byteArrayOutputStream.toByteArray();
-                synchronized (session) {
-                    session.writeBuffer().writeInt(data.length + 4);
-                    session.writeBuffer().write(data);
-                    session.writeBuffer().flush();
-                }
-//                session.write(byteArrayOutputStream.toByteArray());
+                RpcProtocol.encode(session, resp);
             } catch (IOException e) {
                 e.printStackTrace();
             } catch (ClassNotFoundException e) {
@@ -109,14 +96,6 @@ public class RpcProviderProcessor implements MessageProcessor<byte[]> {
                         e.printStackTrace();
                     }
                 }
-                if (objectOutput != null) {
-                    try {
-
-                        objectOutput.close();
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                }
             }
         });
 